@@ -2,15 +2,24 @@
 package com.telecom.cqrs.command.controller;
 
 import com.telecom.cqrs.command.domain.PhonePlan;
+import com.telecom.cqrs.common.dto.BulkPlanChangeResponse;
+import com.telecom.cqrs.common.dto.BulkUsageUpdateResponse;
+import com.telecom.cqrs.common.dto.UsageDeltaRequest;
 import com.telecom.cqrs.common.dto.UsageUpdateRequest;
 import com.telecom.cqrs.common.dto.UsageUpdateResponse;
+import com.telecom.cqrs.command.service.PhonePlanBulkCommandService;
 import com.telecom.cqrs.command.service.PhonePlanCommandService;
+import com.telecom.cqrs.command.service.UsageBulkIngestService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
+
 /**
  * 요금제 변경과 사용량 업데이트 API를 제공하는 컨트롤러입니다.
  */
@@ -20,6 +29,8 @@ import org.springframework.web.bind.annotation.*;
 @Tag(name = "요금제 관리 API", description = "요금제 변경과 사용량 업데이트 관련 API를 제공합니다.")
 public class PhonePlanCommandController {
     private final PhonePlanCommandService phonePlanCommandService;
+    private final UsageBulkIngestService usageBulkIngestService;
+    private final PhonePlanBulkCommandService phonePlanBulkCommandService;
 
     /**
      * 요금제를 변경합니다.
@@ -35,6 +46,23 @@ public class PhonePlanCommandController {
         return ResponseEntity.ok(phonePlanCommandService.changePhonePlan(phonePlan));
     }
 
+    /**
+     * 여러 사용자의 요금제를 한 번에 변경합니다.
+     * 요청 본문은 NDJSON(한 줄에 하나의 요금제) 또는 JSON 배열이며, 스트리밍으로 처리됩니다.
+     *
+     * @param body 요청 본문
+     * @return 처리 건수, 처리 속도와 실패한 행 목록
+     */
+    @Operation(summary = "대량 요금제 변경",
+            description = "NDJSON 또는 JSON 배열로 전달된 여러 사용자의 요금제를 변경합니다.")
+    @PostMapping(value = "/command/change/bulk",
+            consumes = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<BulkPlanChangeResponse> changePhonePlans(
+            @Parameter(hidden = true) InputStream body
+    ) {
+        return ResponseEntity.ok(phonePlanBulkCommandService.changePhonePlans(body));
+    }
+
     /**
      * 사용자의 사용량을 업데이트합니다.
      *
@@ -50,4 +78,37 @@ public class PhonePlanCommandController {
         UsageUpdateResponse response = phonePlanCommandService.updateUsage(request);
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * 사용자의 사용량을 지정한 양만큼 증가시킵니다.
+     *
+     * @param request 사용량 증가 요청
+     * @return 처리 결과
+     */
+    @Operation(summary = "사용량 증가",
+            description = "사용자의 데이터, 통화, 문자 사용량에 증가분을 더합니다.")
+    @PostMapping("/command/usage/delta")
+    public ResponseEntity<UsageUpdateResponse> incrementUsage(
+            @RequestBody UsageDeltaRequest request
+    ) {
+        UsageUpdateResponse response = phonePlanCommandService.incrementUsage(request);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 여러 사용자의 사용량을 한 번에 업데이트합니다.
+     * 요청 본문은 NDJSON(한 줄에 하나의 요청) 또는 JSON 배열이며, 스트리밍으로 처리됩니다.
+     *
+     * @param body 요청 본문
+     * @return 처리 건수와 거부된 줄별 결과
+     */
+    @Operation(summary = "대량 사용량 업데이트",
+            description = "NDJSON 또는 JSON 배열로 전달된 여러 사용자의 사용량을 업데이트합니다.")
+    @PostMapping(value = "/command/usage/bulk",
+            consumes = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<BulkUsageUpdateResponse> updateUsageBulk(
+            @Parameter(hidden = true) InputStream body
+    ) {
+        return ResponseEntity.ok(usageBulkIngestService.ingest(body));
+    }
 }
\ No newline at end of file
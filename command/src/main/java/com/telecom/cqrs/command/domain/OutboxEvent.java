@@ -0,0 +1,46 @@
+package com.telecom.cqrs.command.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 발행 대기 중인 이벤트를 저장하는 아웃박스 엔티티 클래스입니다.
+ * 요금제 변경과 같은 트랜잭션에서 Write DB(PostgreSQL)에 저장되고,
+ * {@link com.telecom.cqrs.command.service.OutboxEventRelay}가 Event Hub로 전달한 뒤 삭제합니다.
+ */
+@Entity
+@Table(name = "event_outbox")
+@Getter @Setter
+@NoArgsConstructor
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "event_outbox_seq")
+    @SequenceGenerator(name = "event_outbox_seq", sequenceName = "event_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private String eventType;
+
+    @Column(nullable = false)
+    private String partitionKey;
+
+    /**
+     * payload의 content-type입니다. 값이 없는 기존 행은 JSON으로 간주합니다.
+     */
+    private String contentType;
+
+    @Column(nullable = false)
+    private byte[] payload;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * 릴레이가 발행하려고 가져간 경우 점유가 끝나는 시각입니다. 발행 대기 중이면 null입니다.
+     */
+    private LocalDateTime claimedUntil;
+}
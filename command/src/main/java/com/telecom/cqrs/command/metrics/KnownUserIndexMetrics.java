@@ -0,0 +1,89 @@
+package com.telecom.cqrs.command.metrics;
+
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 사용자 존재 여부 인덱스의 조회 결과, 지연 시간, 메모리 사용량을 집계합니다.
+ */
+@Component
+public class KnownUserIndexMetrics {
+    @Getter
+    private final AtomicLong lookups = new AtomicLong(0);
+    @Getter
+    private final AtomicLong confirmedHits = new AtomicLong(0);
+    @Getter
+    private final AtomicLong definiteMisses = new AtomicLong(0);
+    @Getter
+    private final AtomicLong databaseChecks = new AtomicLong(0);
+    @Getter
+    private final AtomicLong falsePositives = new AtomicLong(0);
+    @Getter
+    private final AtomicLong lookupNanos = new AtomicLong(0);
+    @Getter
+    private final AtomicLong indexedUsers = new AtomicLong(0);
+    @Getter
+    private final AtomicLong bloomFilterBytes = new AtomicLong(0);
+
+    public void recordLookup(long elapsedNanos) {
+        lookups.incrementAndGet();
+        lookupNanos.addAndGet(elapsedNanos);
+    }
+
+    public void incrementConfirmedHits() {
+        confirmedHits.incrementAndGet();
+    }
+
+    public void incrementDefiniteMisses() {
+        definiteMisses.incrementAndGet();
+    }
+
+    public void incrementDatabaseChecks() {
+        databaseChecks.incrementAndGet();
+    }
+
+    public void incrementFalsePositives() {
+        falsePositives.incrementAndGet();
+    }
+
+    public void incrementIndexedUsers() {
+        indexedUsers.incrementAndGet();
+    }
+
+    public void setBloomFilterBytes(long bytes) {
+        bloomFilterBytes.set(bytes);
+    }
+
+    /**
+     * 인덱스된 사용자 100만 명당 Bloom filter 메모리(바이트)를 반환합니다.
+     */
+    public long getBytesPerMillionUsers() {
+        long users = indexedUsers.get();
+        return users == 0 ? 0 : bloomFilterBytes.get() * 1_000_000L / users;
+    }
+
+    /**
+     * 평균 조회 지연 시간(나노초)을 반환합니다.
+     */
+    public long getAverageLookupNanos() {
+        long count = lookups.get();
+        return count == 0 ? 0 : lookupNanos.get() / count;
+    }
+
+    public String getMetricsSummary() {
+        return String.format(
+                "Metrics - Known User Index (Lookups: %d, Confirmed: %d, Misses: %d, DB Checks: %d, False Positives: %d, " +
+                        "Avg Lookup: %dns, Users: %d, Bytes/1M Users: %d)",
+                lookups.get(),
+                confirmedHits.get(),
+                definiteMisses.get(),
+                databaseChecks.get(),
+                falsePositives.get(),
+                getAverageLookupNanos(),
+                indexedUsers.get(),
+                getBytesPerMillionUsers()
+        );
+    }
+}
@@ -0,0 +1,47 @@
+package com.telecom.cqrs.command.metrics;
+
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 사용량 이벤트 병합(coalescing) 단계의 처리 건수를 집계합니다.
+ */
+@Component
+public class UsageCoalescingMetrics {
+    @Getter
+    private final AtomicLong eventsSubmitted = new AtomicLong(0);
+    @Getter
+    private final AtomicLong eventsCollapsed = new AtomicLong(0);
+    @Getter
+    private final AtomicLong eventsFlushed = new AtomicLong(0);
+    @Getter
+    private final AtomicLong flushErrors = new AtomicLong(0);
+
+    public void incrementEventsSubmitted() {
+        eventsSubmitted.incrementAndGet();
+    }
+
+    public void incrementEventsCollapsed() {
+        eventsCollapsed.incrementAndGet();
+    }
+
+    public void addEventsFlushed(int count) {
+        eventsFlushed.addAndGet(count);
+    }
+
+    public void incrementFlushErrors() {
+        flushErrors.incrementAndGet();
+    }
+
+    public String getMetricsSummary() {
+        return String.format(
+                "Metrics - Usage Coalescing (Submitted: %d, Collapsed: %d, Flushed: %d, Flush Errors: %d)",
+                eventsSubmitted.get(),
+                eventsCollapsed.get(),
+                eventsFlushed.get(),
+                flushErrors.get()
+        );
+    }
+}
@@ -0,0 +1,48 @@
+package com.telecom.cqrs.command.repository;
+
+import com.telecom.cqrs.command.domain.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 아웃박스 이벤트를 PostgreSQL에 저장하는 레포지토리입니다.
+ */
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    /**
+     * 저장된 순서대로 발행 대기 중인 이벤트를 조회합니다.
+     */
+    List<OutboxEvent> findByOrderByIdAsc(Pageable pageable);
+
+    /**
+     * 발행할 배치를 점유하는 동안 트랜잭션 범위의 advisory lock을 획득합니다.
+     * 여러 인스턴스가 떠 있어도 한 번에 하나의 릴레이만 배치를 점유하도록 합니다.
+     */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+    boolean tryAcquireRelayLock(@Param("key") long key);
+
+    /**
+     * 아직 점유가 끝나지 않은 이벤트가 있는지 확인합니다. 있으면 다른 릴레이가 발행 중입니다.
+     */
+    boolean existsByClaimedUntilAfter(LocalDateTime now);
+
+    /**
+     * 릴레이가 발행할 이벤트를 주어진 시각까지 점유합니다.
+     */
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.claimedUntil = :until WHERE e.id IN :ids")
+    int claim(@Param("ids") Collection<Long> ids, @Param("until") LocalDateTime until);
+
+    /**
+     * 발행하지 못한 이벤트의 점유를 풀어 다음 주기에 다시 발행되도록 합니다.
+     */
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.claimedUntil = NULL WHERE e.id IN :ids")
+    int release(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,16 @@
+package com.telecom.cqrs.command.repository;
+
+import com.telecom.cqrs.command.domain.PhonePlan;
+
+import java.util.List;
+
+/**
+ * 요금제를 대량으로 저장하기 위한 레포지토리 확장입니다.
+ */
+public interface PhonePlanBulkRepository {
+    /**
+     * 여러 요금제를 한 번의 문장으로 추가하거나 갱신하고 저장된 행을 반환합니다.
+     * 같은 사용자 ID가 두 번 이상 포함되면 안 됩니다.
+     */
+    List<PhonePlan> upsertAll(List<PhonePlan> plans);
+}
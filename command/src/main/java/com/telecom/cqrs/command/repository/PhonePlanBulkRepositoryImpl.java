@@ -0,0 +1,87 @@
+package com.telecom.cqrs.command.repository;
+
+import com.telecom.cqrs.command.domain.PhonePlan;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * {@link PhonePlanBulkRepository}의 JDBC 구현입니다.
+ * 컬럼별 배열을 unnest로 펼쳐 청크 전체를 하나의 INSERT ... ON CONFLICT 문장으로 저장합니다.
+ */
+@RequiredArgsConstructor
+public class PhonePlanBulkRepositoryImpl implements PhonePlanBulkRepository {
+    private static final String UPSERT_ALL_SQL = """
+            INSERT INTO phone_plans (user_id, plan_name, data_allowance, call_minutes, message_count, monthly_fee, status)
+            SELECT * FROM unnest(?::varchar[], ?::varchar[], ?::integer[], ?::integer[], ?::integer[],
+                                 ?::double precision[], ?::varchar[])
+            ON CONFLICT (user_id) DO UPDATE SET
+                plan_name = EXCLUDED.plan_name,
+                data_allowance = EXCLUDED.data_allowance,
+                call_minutes = EXCLUDED.call_minutes,
+                message_count = EXCLUDED.message_count,
+                monthly_fee = EXCLUDED.monthly_fee,
+                status = COALESCE(EXCLUDED.status, phone_plans.status)
+            RETURNING id, user_id, plan_name, data_allowance, call_minutes, message_count, monthly_fee, status
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<PhonePlan> upsertAll(List<PhonePlan> plans) {
+        if (plans.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(connection -> prepareUpsertAll(connection, plans), (rs, rowNum) -> mapRow(rs));
+    }
+
+    private PreparedStatement prepareUpsertAll(Connection connection, List<PhonePlan> plans) throws SQLException {
+        int size = plans.size();
+        String[] userIds = new String[size];
+        String[] planNames = new String[size];
+        Integer[] dataAllowances = new Integer[size];
+        Integer[] callMinutes = new Integer[size];
+        Integer[] messageCounts = new Integer[size];
+        Double[] monthlyFees = new Double[size];
+        String[] statuses = new String[size];
+
+        for (int i = 0; i < size; i++) {
+            PhonePlan plan = plans.get(i);
+            userIds[i] = plan.getUserId();
+            planNames[i] = plan.getPlanName();
+            dataAllowances[i] = plan.getDataAllowance();
+            callMinutes[i] = plan.getCallMinutes();
+            messageCounts[i] = plan.getMessageCount();
+            monthlyFees[i] = plan.getMonthlyFee();
+            statuses[i] = plan.getStatus();
+        }
+
+        PreparedStatement statement = connection.prepareStatement(UPSERT_ALL_SQL);
+        statement.setArray(1, connection.createArrayOf("varchar", userIds));
+        statement.setArray(2, connection.createArrayOf("varchar", planNames));
+        statement.setArray(3, connection.createArrayOf("integer", dataAllowances));
+        statement.setArray(4, connection.createArrayOf("integer", callMinutes));
+        statement.setArray(5, connection.createArrayOf("integer", messageCounts));
+        statement.setArray(6, connection.createArrayOf("float8", monthlyFees));
+        statement.setArray(7, connection.createArrayOf("varchar", statuses));
+        return statement;
+    }
+
+    private PhonePlan mapRow(ResultSet rs) throws SQLException {
+        PhonePlan plan = new PhonePlan();
+        plan.setId(rs.getLong("id"));
+        plan.setUserId(rs.getString("user_id"));
+        plan.setPlanName(rs.getString("plan_name"));
+        plan.setDataAllowance(rs.getInt("data_allowance"));
+        plan.setCallMinutes(rs.getInt("call_minutes"));
+        plan.setMessageCount(rs.getInt("message_count"));
+        plan.setMonthlyFee(rs.getDouble("monthly_fee"));
+        plan.setStatus(rs.getString("status"));
+        return plan;
+    }
+}
@@ -2,12 +2,56 @@ package com.telecom.cqrs.command.repository;
 
 import com.telecom.cqrs.command.domain.PhonePlan;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 /**
  * 요금제 정보를 PostgreSQL에 저장하는 레포지토리입니다.
  */
-public interface PhonePlanRepository extends JpaRepository<PhonePlan, Long> {
+public interface PhonePlanRepository extends JpaRepository<PhonePlan, Long>, PhonePlanBulkRepository {
     Optional<PhonePlan> findByUserId(String userId);
+
+    boolean existsByUserId(String userId);
+
+    /**
+     * 사용자 ID 기준으로 요금제를 한 번의 쿼리로 추가하거나 갱신하고, 저장된 행을 반환합니다.
+     * 상태가 null이면 기존 상태를 유지합니다. 같은 사용자의 최초 등록이 동시에 들어와도
+     * ON CONFLICT가 갱신으로 처리하므로 유니크 제약 위반이 발생하지 않습니다.
+     */
+    @Query(value = """
+            INSERT INTO phone_plans (user_id, plan_name, data_allowance, call_minutes, message_count, monthly_fee, status)
+            VALUES (:#{#plan.userId}, :#{#plan.planName}, :#{#plan.dataAllowance}, :#{#plan.callMinutes},
+                    :#{#plan.messageCount}, :#{#plan.monthlyFee}, :#{#plan.status})
+            ON CONFLICT (user_id) DO UPDATE SET
+                plan_name = EXCLUDED.plan_name,
+                data_allowance = EXCLUDED.data_allowance,
+                call_minutes = EXCLUDED.call_minutes,
+                message_count = EXCLUDED.message_count,
+                monthly_fee = EXCLUDED.monthly_fee,
+                status = COALESCE(EXCLUDED.status, phone_plans.status)
+            RETURNING *
+            """, nativeQuery = true)
+    PhonePlan upsert(@Param("plan") PhonePlan plan);
+
+    /**
+     * 모든 사용자 ID를 커서로 스트리밍합니다. 트랜잭션 안에서 호출하고 사용 후 닫아야 합니다.
+     */
+    @Query("select p.userId from PhonePlan p")
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "10000"))
+    Stream<String> streamAllUserIds();
+
+    /**
+     * 주어진 사용자 ID 중 요금제가 등록된 ID만 조회합니다.
+     */
+    @Query("select p.userId from PhonePlan p where p.userId in :userIds")
+    List<String> findExistingUserIds(@Param("userIds") Collection<String> userIds);
 }
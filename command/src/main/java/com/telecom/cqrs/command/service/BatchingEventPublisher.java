@@ -0,0 +1,332 @@
+package com.telecom.cqrs.command.service;
+
+import com.azure.messaging.eventhubs.EventData;
+import com.azure.messaging.eventhubs.EventDataBatch;
+import com.azure.messaging.eventhubs.EventHubProducerClient;
+import com.azure.messaging.eventhubs.models.CreateBatchOptions;
+import com.telecom.cqrs.common.constant.EventHubConstants;
+import com.telecom.cqrs.common.event.EventEnvelope;
+import com.telecom.cqrs.common.exception.EventHubException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 이벤트를 파티션별로 모아 {@link EventDataBatch} 단위로 발행하는 퍼블리셔입니다.
+ * 배치가 최대 크기에 도달하거나 linger 시간이 지나면 전송하고, 전송 결과로 호출자의 future를 완료합니다.
+ *
+ * <p>파티션 선택은 Event Hubs 서비스의 파티션 키 해시에 맡깁니다. Event Hub 배치는 하나의 파티션 키만 가질 수 있으므로
+ * 버퍼는 허브와 파티션 키(사용자 ID)로 구분하고, 버퍼별 전송은 순서대로 직렬화됩니다.
+ * 클라이언트에서 파티션을 계산하지 않으므로 배포나 파티션 수 변경 때 사용자가 다른 파티션으로 옮겨 가지 않으며,
+ * 같은 허브로 가는 사용량 이벤트와 증가분 이벤트도 발행한 순서대로 같은 파티션에 전송됩니다.
+ * 배치와 엔벨로프는 사용자별로 모이므로, 전송 수를 줄이는 효과는 같은 사용자의 이벤트가 linger 시간 안에 몰릴 때 나타납니다.</p>
+ *
+ * <p>{@code event-hub.publisher.envelope.enabled}를 켜면 파티션별로 모인 이벤트를 하나의 LZ4 압축
+ * {@link EventEnvelope} 메시지로 묶어 보냅니다. 이벤트마다 붙던 AMQP 프레이밍과 속성이 엔벨로프당 한 번으로 줄어듭니다.</p>
+ */
+@Slf4j
+@Component
+public class BatchingEventPublisher {
+    private final EventHubProducerClient planEventProducer;
+    private final EventHubProducerClient usageEventProducer;
+    private final Map<String, PartitionBuffer> buffers = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService lingerScheduler;
+    private final ExecutorService sender;
+    private final AtomicLong eventsPublished = new AtomicLong(0);
+    private final AtomicLong batchesSent = new AtomicLong(0);
+    private final long lingerMillis;
+    private final boolean envelopeEnabled;
+    private final int envelopeMaxBytes;
+
+    public BatchingEventPublisher(
+            @Qualifier("planEventProducer") EventHubProducerClient planEventProducer,
+            @Qualifier("usageEventProducer") EventHubProducerClient usageEventProducer,
+            @Value("${event-hub.publisher.linger-ms:10}") long lingerMillis,
+            @Value("${event-hub.publisher.sender-threads:4}") int senderThreads,
+            @Value("${event-hub.publisher.envelope.enabled:false}") boolean envelopeEnabled,
+            @Value("${event-hub.publisher.envelope.max-bytes:262144}") int envelopeMaxBytes,
+            Environment environment) {
+        // linger 주기로 스케줄을 등록하므로 0 이하면 시작할 수 없습니다.
+        validatePositive("event-hub.publisher.linger-ms", lingerMillis);
+        validatePositive("event-hub.publisher.sender-threads", senderThreads);
+        validatePositive("event-hub.publisher.envelope.max-bytes", envelopeMaxBytes);
+        this.planEventProducer = planEventProducer;
+        this.usageEventProducer = usageEventProducer;
+        this.lingerMillis = lingerMillis;
+        this.envelopeEnabled = envelopeEnabled;
+        this.envelopeMaxBytes = envelopeMaxBytes;
+        // 가상 스레드 모드에서는 전송 대기 동안 플랫폼 스레드를 점유하지 않도록 같은 수의 가상 스레드로 전송합니다.
+        this.sender = Executors.newFixedThreadPool(senderThreads, Threading.VIRTUAL.isActive(environment)
+                ? Thread.ofVirtual().name("event-sender-", 0).factory()
+                : Thread.ofPlatform().name("event-sender-", 0).factory());
+        this.lingerScheduler = Executors.newSingleThreadScheduledExecutor();
+        this.lingerScheduler.scheduleAtFixedRate(this::flushExpired, lingerMillis, lingerMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 이벤트를 발행 버퍼에 추가합니다.
+     *
+     * @param eventType 이벤트 타입({@link EventHubConstants})
+     * @param partitionKey 파티션 키(사용자 ID)
+     * @param contentType payload의 content-type, null이면 JSON
+     * @param payload 직렬화된 이벤트
+     * @return 이벤트가 포함된 배치의 전송이 완료되면 완료되는 future
+     */
+    public CompletableFuture<Void> publish(String eventType, String partitionKey, String contentType, byte[] payload) {
+        String resolvedContentType = contentType != null ? contentType : EventHubConstants.CONTENT_TYPE_JSON;
+        EventHubProducerClient producer = getProducer(eventType);
+        CompletableFuture<Void> future = new CompletableFuture<>();
+
+        while (true) {
+            PartitionBuffer buffer = buffers.computeIfAbsent(producer.getEventHubName() + ":" + partitionKey,
+                    key -> new PartitionBuffer(key, producer, partitionKey));
+            synchronized (buffer) {
+                if (buffer.closed) {
+                    continue;
+                }
+                if (envelopeEnabled) {
+                    buffer.addToEnvelope(eventType, new EventEnvelope.Entry(resolvedContentType, payload), future);
+                } else {
+                    buffer.add(toEventData(eventType, resolvedContentType, payload), future);
+                }
+                return future;
+            }
+        }
+    }
+
+    /**
+     * 버퍼에 남은 모든 배치를 즉시 전송합니다.
+     */
+    public void flush() {
+        for (PartitionBuffer buffer : buffers.values()) {
+            synchronized (buffer) {
+                buffer.seal();
+            }
+        }
+    }
+
+    private void flushExpired() {
+        try {
+            long now = System.currentTimeMillis();
+            for (PartitionBuffer buffer : buffers.values()) {
+                synchronized (buffer) {
+                    if (buffer.isEmpty() || now - buffer.openedAt >= lingerMillis) {
+                        buffer.seal();
+                    }
+                }
+            }
+        } catch (Exception e) {
+            log.warn("배치 이벤트 발행 스케줄 실패: error={}", e.getMessage());
+        }
+    }
+
+    private static void validatePositive(String name, long value) {
+        if (value <= 0) {
+            throw new IllegalStateException(
+                    String.format("Event Hub publisher configuration error: %s must be greater than 0 (was %d)", name, value));
+        }
+    }
+
+    private EventData toEventData(String eventType, String contentType, byte[] payload) {
+        EventData eventData = new EventData(payload);
+        eventData.setContentType(contentType);
+        eventData.getProperties().put("type", eventType);
+        return eventData;
+    }
+
+    private EventHubProducerClient getProducer(String eventType) {
+        if (EventHubConstants.EVENT_TYPE_PLAN.equals(eventType)) {
+            return planEventProducer;
+        } else if (EventHubConstants.EVENT_TYPE_USAGE.equals(eventType)
+                || EventHubConstants.EVENT_TYPE_USAGE_DELTA.equals(eventType)) {
+            // 증가분 이벤트도 사용량 허브로 보내고, 수신 측은 type 속성으로 구분합니다.
+            return usageEventProducer;
+        }
+        throw new IllegalArgumentException("지원되지 않는 이벤트 타입입니다: " + eventType);
+    }
+
+    public long getEventsPublished() {
+        return eventsPublished.get();
+    }
+
+    public long getBatchesSent() {
+        return batchesSent.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        lingerScheduler.shutdown();
+        flush();
+        sender.shutdown();
+        try {
+            if (!sender.awaitTermination(10, TimeUnit.SECONDS)) {
+                log.warn("배치 이벤트 발행이 종료 시간 내에 끝나지 않았습니다");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 하나의 허브와 파티션 키에 대한 발행 버퍼입니다. 모든 접근은 버퍼 모니터 안에서 이뤄집니다.
+     */
+    private class PartitionBuffer {
+        private final String key;
+        private final EventHubProducerClient producer;
+        private final CreateBatchOptions options;
+        private EventDataBatch batch;
+        private List<EventEnvelope.Entry> entries = new ArrayList<>();
+        // 엔벨로프는 type 속성을 하나만 가지므로 담긴 이벤트의 타입입니다.
+        private String envelopeType;
+        private int envelopeBytes;
+        private List<CompletableFuture<Void>> futures = new ArrayList<>();
+        private long openedAt;
+        // 마지막으로 연 배치의 최대 크기(바이트). 이보다 큰 이벤트는 배치를 열지 않고 거절합니다.
+        private long maxBatchBytes;
+        private boolean closed;
+        // 이전 전송이 끝나야 다음 전송을 시작해 파티션 내 순서를 보장합니다.
+        // 이전 전송이 실패하면 대기 중인 후속 전송도 실패로 완료됩니다.
+        private CompletableFuture<Void> lastSend = CompletableFuture.completedFuture(null);
+
+        private PartitionBuffer(String key, EventHubProducerClient producer, String partitionKey) {
+            this.key = key;
+            this.producer = producer;
+            this.options = new CreateBatchOptions().setPartitionKey(partitionKey);
+        }
+
+        private boolean isEmpty() {
+            return batch == null && entries.isEmpty();
+        }
+
+        private void add(EventData eventData, CompletableFuture<Void> future) {
+            try {
+                if (maxBatchBytes > 0 && eventData.getBody().length > maxBatchBytes) {
+                    throw tooLarge(eventData.getBody().length, maxBatchBytes);
+                }
+                if (batch == null) {
+                    open();
+                }
+                if (!batch.tryAdd(eventData)) {
+                    if (batch.getCount() > 0) {
+                        seal();
+                        open();
+                    }
+                    if (!batch.tryAdd(eventData)) {
+                        // 빈 배치에도 들어가지 않는 이벤트입니다. 빈 배치를 열어 둔 채로 남기지 않습니다.
+                        batch = null;
+                        throw tooLarge(eventData.getBody().length, maxBatchBytes);
+                    }
+                }
+                futures.add(future);
+            } catch (Exception e) {
+                future.completeExceptionally(e);
+            }
+        }
+
+        private void addToEnvelope(String eventType, EventEnvelope.Entry entry, CompletableFuture<Void> future) {
+            int size = EventEnvelope.entrySize(entry);
+            if (size > envelopeMaxBytes) {
+                future.completeExceptionally(tooLarge(size, envelopeMaxBytes));
+                return;
+            }
+            // 타입이 바뀌면 앞선 엔벨로프를 먼저 전송 순서에 올려 수신 순서를 유지합니다.
+            if (!entries.isEmpty() && (envelopeBytes + size > envelopeMaxBytes || !eventType.equals(envelopeType))) {
+                seal();
+            }
+            if (entries.isEmpty()) {
+                openedAt = System.currentTimeMillis();
+                envelopeType = eventType;
+            }
+            entries.add(entry);
+            envelopeBytes += size;
+            futures.add(future);
+        }
+
+        private void open() {
+            batch = producer.createBatch(options);
+            maxBatchBytes = batch.getMaxSizeInBytes();
+            openedAt = System.currentTimeMillis();
+        }
+
+        private EventHubException tooLarge(long size, long maxSize) {
+            return new EventHubException(String.format("이벤트 크기가 너무 큽니다: size=%d, max=%d", size, maxSize));
+        }
+
+        private void seal() {
+            if (isEmpty()) {
+                // 한동안 이벤트가 없던 버퍼는 맵에서 제거합니다.
+                if (lastSend.isDone()) {
+                    closed = true;
+                    buffers.remove(key, this);
+                }
+                return;
+            }
+
+            List<CompletableFuture<Void>> waiters = futures;
+            futures = new ArrayList<>();
+            EventDataBatch sealed;
+            int eventCount;
+            try {
+                if (batch != null) {
+                    sealed = batch;
+                    eventCount = batch.getCount();
+                    batch = null;
+                } else {
+                    eventCount = entries.size();
+                    sealed = sealEnvelope();
+                }
+            } catch (Exception e) {
+                waiters.forEach(waiter -> waiter.completeExceptionally(e));
+                return;
+            }
+
+            if (lastSend.isDone() && lastSend.isCompletedExceptionally()) {
+                lastSend = CompletableFuture.completedFuture(null);
+            }
+            lastSend = lastSend.thenRunAsync(() -> producer.send(sealed), sender);
+            lastSend.whenComplete((ignored, error) -> {
+                if (error == null) {
+                    eventsPublished.addAndGet(eventCount);
+                    batchesSent.incrementAndGet();
+                    waiters.forEach(waiter -> waiter.complete(null));
+                } else {
+                    log.warn("배치 이벤트 발행 실패: key={}, count={}, error={}",
+                            key, eventCount, error.getMessage());
+                    waiters.forEach(waiter -> waiter.completeExceptionally(error));
+                }
+            });
+        }
+
+        private EventDataBatch sealEnvelope() {
+            List<EventEnvelope.Entry> packed = entries;
+            entries = new ArrayList<>();
+            envelopeBytes = 0;
+
+            EventData envelope = new EventData(EventEnvelope.pack(packed));
+            envelope.setContentType(EventHubConstants.CONTENT_TYPE_ENVELOPE);
+            envelope.getProperties().put("type", envelopeType);
+            envelope.getProperties().put("count", packed.size());
+
+            EventDataBatch envelopeBatch = producer.createBatch(options);
+            if (!envelopeBatch.tryAdd(envelope)) {
+                throw new EventHubException("이벤트 엔벨로프 크기가 너무 큽니다");
+            }
+            return envelopeBatch;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.telecom.cqrs.command.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * NDJSON 또는 JSON 배열 본문을 전체 버퍼링 없이 청크 단위로 읽는 헬퍼입니다.
+ */
+@Slf4j
+final class ChunkedJsonReader {
+
+    /**
+     * 읽어 들인 청크를 처리하는 콜백입니다.
+     */
+    @FunctionalInterface
+    interface ChunkHandler<T> {
+        /**
+         * @param chunk 읽은 요소 목록
+         * @param firstLine 청크 첫 요소의 순번(1부터 시작)
+         */
+        void handle(List<T> chunk, int firstLine);
+    }
+
+    private ChunkedJsonReader() {}
+
+    /**
+     * 본문을 끝까지 읽으며 청크마다 handler를 호출합니다.
+     * 형식이 잘못된 요소를 만나면 그 앞까지만 처리하고 멈춥니다.
+     *
+     * @return 형식 오류가 난 요소의 순번, 오류가 없으면 0
+     * @throws IOException 본문을 읽는 중 입출력 오류가 발생한 경우
+     */
+    static <T> int read(ObjectReader reader, InputStream body, int chunkSize, ChunkHandler<T> handler)
+            throws IOException {
+        List<T> chunk = new ArrayList<>(chunkSize);
+        int line = 0;
+        int malformedLine = 0;
+
+        try (MappingIterator<T> iterator = reader.readValues(body)) {
+            while (true) {
+                T value;
+                try {
+                    if (!iterator.hasNextValue()) {
+                        break;
+                    }
+                    value = iterator.nextValue();
+                } catch (JsonProcessingException e) {
+                    malformedLine = line + 1;
+                    log.warn("대량 요청 파싱 실패: line={}, error={}", malformedLine, e.getOriginalMessage());
+                    break;
+                }
+
+                line++;
+                chunk.add(value);
+                if (chunk.size() == chunkSize) {
+                    handler.handle(new ArrayList<>(chunk), line - chunk.size() + 1);
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            handler.handle(new ArrayList<>(chunk), line - chunk.size() + 1);
+        }
+        return malformedLine;
+    }
+}
@@ -0,0 +1,108 @@
+package com.telecom.cqrs.command.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.telecom.cqrs.command.domain.OutboxEvent;
+import com.telecom.cqrs.command.repository.OutboxEventRepository;
+import com.telecom.cqrs.common.constant.EventHubConstants;
+import com.telecom.cqrs.common.event.EventCodec;
+import com.telecom.cqrs.common.event.PhonePlanEvent;
+import com.telecom.cqrs.common.event.UsageDeltaEvent;
+import com.telecom.cqrs.common.event.UsageUpdatedEvent;
+import com.telecom.cqrs.common.exception.EventHubException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 이벤트를 아웃박스 테이블에 기록하는 컴포넌트입니다.
+ * 호출한 쪽의 트랜잭션에 참여하므로 도메인 변경과 이벤트 기록이 함께 커밋됩니다.
+ * 이벤트는 {@code event-hub.codec} 설정(json 또는 binary)에 따라 직렬화됩니다.
+ */
+@Component
+public class EventOutbox {
+    private final OutboxEventRepository outboxEventRepository;
+    private final EventCodec eventCodec;
+    private final String contentType;
+
+    public EventOutbox(
+            OutboxEventRepository outboxEventRepository,
+            ObjectMapper objectMapper,
+            @Value("${event-hub.codec:json}") String codec) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.eventCodec = new EventCodec(objectMapper);
+        this.contentType = "binary".equalsIgnoreCase(codec)
+                ? EventHubConstants.CONTENT_TYPE_BINARY
+                : EventHubConstants.CONTENT_TYPE_JSON;
+    }
+
+    /**
+     * 이벤트를 아웃박스에 추가합니다.
+     *
+     * @param event 발행할 이벤트
+     * @param partitionKey Event Hub 파티션 키(사용자 ID)
+     */
+    public void append(Object event, String partitionKey) {
+        outboxEventRepository.save(toOutboxEvent(event, partitionKey));
+    }
+
+    /**
+     * 여러 이벤트를 한 번의 배치 INSERT로 아웃박스에 추가합니다.
+     * 파티션 키는 각 이벤트의 사용자 ID를 사용합니다.
+     *
+     * @param events 발행할 이벤트 목록
+     */
+    public void appendAll(List<?> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        List<OutboxEvent> outboxEvents = new ArrayList<>(events.size());
+        for (Object event : events) {
+            outboxEvents.add(toOutboxEvent(event, getPartitionKey(event)));
+        }
+        outboxEventRepository.saveAll(outboxEvents);
+    }
+
+    private OutboxEvent toOutboxEvent(Object event, String partitionKey) {
+        OutboxEvent outboxEvent = new OutboxEvent();
+        outboxEvent.setEventType(getEventType(event));
+        outboxEvent.setPartitionKey(partitionKey);
+        outboxEvent.setContentType(contentType);
+        outboxEvent.setPayload(serialize(event));
+        outboxEvent.setCreatedAt(LocalDateTime.now());
+        return outboxEvent;
+    }
+
+    private byte[] serialize(Object event) {
+        try {
+            return eventCodec.encode(event, contentType);
+        } catch (IOException e) {
+            throw new EventHubException("이벤트 직렬화 중 오류가 발생했습니다", e);
+        }
+    }
+
+    private String getPartitionKey(Object event) {
+        if (event instanceof PhonePlanEvent planEvent) {
+            return planEvent.getUserId();
+        } else if (event instanceof UsageUpdatedEvent usageEvent) {
+            return usageEvent.getUserId();
+        } else if (event instanceof UsageDeltaEvent deltaEvent) {
+            return deltaEvent.getUserId();
+        }
+        throw new IllegalArgumentException("지원되지 않는 이벤트 타입입니다: " + event.getClass().getSimpleName());
+    }
+
+    private String getEventType(Object event) {
+        if (event instanceof PhonePlanEvent) {
+            return EventHubConstants.EVENT_TYPE_PLAN;
+        } else if (event instanceof UsageUpdatedEvent) {
+            return EventHubConstants.EVENT_TYPE_USAGE;
+        } else if (event instanceof UsageDeltaEvent) {
+            return EventHubConstants.EVENT_TYPE_USAGE_DELTA;
+        }
+        throw new IllegalArgumentException("지원되지 않는 이벤트 타입입니다: " + event.getClass().getSimpleName());
+    }
+}
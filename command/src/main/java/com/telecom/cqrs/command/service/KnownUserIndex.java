@@ -0,0 +1,195 @@
+package com.telecom.cqrs.command.service;
+
+import com.telecom.cqrs.command.metrics.KnownUserIndexMetrics;
+import com.telecom.cqrs.command.repository.PhonePlanRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * 요금제가 등록된 사용자 ID를 메모리에서 판별하는 인덱스입니다.
+ *
+ * <p>Bloom filter가 "확실히 없음"을 판별하고, 크기가 제한된 확인 캐시가 "확실히 있음"을 판별합니다.
+ * 둘 다 답하지 못하는 경우(Bloom filter 오탐 가능 구간)에만 DB를 조회합니다.
+ * 시작 시 phone_plans를 스트리밍으로 읽어 채우고, 이후에는 요금제 변경이 커밋될 때 갱신됩니다.</p>
+ *
+ * <p>인덱스는 인스턴스 로컬입니다. 여러 인스턴스가 요금제를 등록하는 환경에서는 다른 인스턴스가 등록한 사용자가
+ * Bloom filter에 없을 수 있으므로 {@code known-user-index.verify-misses}를 켜야 합니다. 이때는 미스를 모두 DB로 확인하므로
+ * Bloom filter를 만들거나 채우지 않고 확인 캐시만 사용합니다.</p>
+ */
+@Slf4j
+@Component
+public class KnownUserIndex {
+    private final PhonePlanRepository phonePlanRepository;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final KnownUserIndexMetrics metrics;
+    private final UserIdBloomFilter bloomFilter;
+    private final Set<String> confirmedUserIds = ConcurrentHashMap.newKeySet();
+    private final Queue<String> confirmedOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger confirmedSize = new AtomicInteger(0);
+    private final int confirmedCacheSize;
+    private final boolean verifyMisses;
+    private volatile boolean warmed;
+
+    public KnownUserIndex(
+            PhonePlanRepository phonePlanRepository,
+            PlatformTransactionManager transactionManager,
+            KnownUserIndexMetrics metrics,
+            @Value("${known-user-index.expected-users:1000000}") long expectedUsers,
+            @Value("${known-user-index.false-positive-rate:0.01}") double falsePositiveRate,
+            @Value("${known-user-index.confirmed-cache-size:100000}") int confirmedCacheSize,
+            @Value("${known-user-index.verify-misses:false}") boolean verifyMisses) {
+        this.phonePlanRepository = phonePlanRepository;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.metrics = metrics;
+        // 미스를 모두 DB로 확인하면 Bloom filter를 조회하지 않으므로 만들지 않습니다.
+        this.bloomFilter = verifyMisses ? null : new UserIdBloomFilter(expectedUsers, falsePositiveRate);
+        this.confirmedCacheSize = confirmedCacheSize;
+        this.verifyMisses = verifyMisses;
+        metrics.setBloomFilterBytes(bloomFilter != null ? bloomFilter.sizeInBytes() : 0);
+    }
+
+    /**
+     * phone_plans의 사용자 ID를 스트리밍으로 읽어 Bloom filter를 채웁니다.
+     * 완료 전까지는 모든 조회가 DB로 전달됩니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (verifyMisses) {
+            warmed = true;
+            log.info("Known user index runs without a Bloom filter (verify-misses=true); misses are checked against the DB");
+            return;
+        }
+        long start = System.currentTimeMillis();
+        try {
+            readOnlyTransactionTemplate.executeWithoutResult(status -> {
+                try (Stream<String> userIds = phonePlanRepository.streamAllUserIds()) {
+                    userIds.forEach(this::index);
+                }
+            });
+            warmed = true;
+            log.info("Known user index warmed: users={}, elapsed={}ms, {}",
+                    metrics.getIndexedUsers().get(), System.currentTimeMillis() - start, metrics.getMetricsSummary());
+        } catch (Exception e) {
+            log.error("Failed to warm known user index, falling back to DB lookups: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 사용자의 요금제 존재 여부를 반환합니다.
+     */
+    public boolean exists(String userId) {
+        long start = System.nanoTime();
+        try {
+            if (!warmed) {
+                return checkDatabase(userId);
+            }
+            if (confirmedUserIds.contains(userId)) {
+                metrics.incrementConfirmedHits();
+                return true;
+            }
+            if (!verifyMisses && !bloomFilter.mightContain(userId)) {
+                metrics.incrementDefiniteMisses();
+                return false;
+            }
+            return checkDatabase(userId);
+        } finally {
+            metrics.recordLookup(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * 주어진 사용자 ID 중 요금제가 등록된 ID를 반환합니다.
+     * 인덱스로 판별되지 않는 ID만 모아 한 번의 IN 조회로 확인합니다.
+     */
+    public Set<String> filterExisting(Collection<String> userIds) {
+        long start = System.nanoTime();
+        Set<String> existing = new HashSet<>();
+        List<String> uncertain = new ArrayList<>();
+        for (String userId : userIds) {
+            if (warmed && confirmedUserIds.contains(userId)) {
+                metrics.incrementConfirmedHits();
+                existing.add(userId);
+            } else if (warmed && !verifyMisses && !bloomFilter.mightContain(userId)) {
+                metrics.incrementDefiniteMisses();
+            } else {
+                uncertain.add(userId);
+            }
+        }
+
+        if (!uncertain.isEmpty()) {
+            metrics.incrementDatabaseChecks();
+            List<String> found = phonePlanRepository.findExistingUserIds(uncertain);
+            found.forEach(this::confirm);
+            existing.addAll(found);
+        }
+        metrics.recordLookup(System.nanoTime() - start);
+        return existing;
+    }
+
+    /**
+     * 요금제가 등록된 사용자를 인덱스에 추가합니다.
+     * 트랜잭션 안에서 호출되면 커밋된 뒤에 반영해 롤백된 사용자가 캐시에 남지 않도록 합니다.
+     */
+    public void add(String userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    confirm(userId);
+                }
+            });
+        } else {
+            confirm(userId);
+        }
+    }
+
+    private boolean checkDatabase(String userId) {
+        metrics.incrementDatabaseChecks();
+        boolean exists = phonePlanRepository.existsByUserId(userId);
+        if (exists) {
+            confirm(userId);
+        } else if (warmed && bloomFilter != null && bloomFilter.mightContain(userId)) {
+            metrics.incrementFalsePositives();
+        }
+        return exists;
+    }
+
+    private void index(String userId) {
+        if (bloomFilter != null && bloomFilter.put(userId)) {
+            metrics.incrementIndexedUsers();
+        }
+    }
+
+    private void confirm(String userId) {
+        index(userId);
+        if (confirmedUserIds.add(userId)) {
+            confirmedOrder.add(userId);
+            if (confirmedSize.incrementAndGet() > confirmedCacheSize) {
+                String eldest = confirmedOrder.poll();
+                if (eldest != null) {
+                    confirmedUserIds.remove(eldest);
+                    confirmedSize.decrementAndGet();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.telecom.cqrs.command.service;
+
+import com.telecom.cqrs.command.domain.OutboxEvent;
+import com.telecom.cqrs.command.repository.OutboxEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 아웃박스에 쌓인 이벤트를 Event Hub로 전달하는 릴레이입니다.
+ * 저장 순서대로 큰 배치를 읽어 {@link BatchingEventPublisher}로 넘기고, 발행에 성공한 이벤트만 삭제합니다.
+ *
+ * <p>배치를 점유하는 짧은 트랜잭션을 커밋한 뒤 트랜잭션 밖에서 발행하고, 결과는 두 번째 짧은 트랜잭션에서 반영하므로
+ * 발행을 기다리는 동안 DB 커넥션과 advisory lock을 잡고 있지 않습니다. 점유가 끝나지 않은 배치가 있으면 다른 릴레이는
+ * 새 배치를 가져가지 않으므로 발행 순서가 유지되고, 릴레이가 중단되면 {@code outbox.relay.claim-timeout} 뒤에 다시 발행합니다.</p>
+ */
+@Slf4j
+@Component
+public class OutboxEventRelay {
+    private static final long RELAY_LOCK_KEY = 0x6F7574626F78L; // "outbox"
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final BatchingEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${outbox.relay.batch-size:500}")
+    private int batchSize;
+
+    @Value("${outbox.relay.publish-timeout:30000}")
+    private long publishTimeoutMillis;
+
+    @Value("${outbox.relay.claim-timeout:60000}")
+    private long claimTimeoutMillis;
+
+    public OutboxEventRelay(
+            OutboxEventRepository outboxEventRepository,
+            BatchingEventPublisher eventPublisher,
+            TransactionTemplate transactionTemplate) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * 아웃박스가 빌 때까지 배치 단위로 이벤트를 발행합니다.
+     * 일부 발행이 실패하면 다음 주기에 같은 순서로 다시 시도합니다.
+     */
+    @Scheduled(fixedDelayString = "${outbox.relay.poll-interval:200}")
+    public void relay() {
+        int published;
+        do {
+            published = relayBatch();
+        } while (published >= batchSize);
+    }
+
+    private int relayBatch() {
+        List<OutboxEvent> events = transactionTemplate.execute(status -> claimBatch());
+        if (events == null || events.isEmpty()) {
+            return 0;
+        }
+
+        List<CompletableFuture<Void>> results = new ArrayList<>(events.size());
+        for (OutboxEvent event : events) {
+            results.add(eventPublisher.publish(event.getEventType(), event.getPartitionKey(),
+                    event.getContentType(), event.getPayload()));
+        }
+        eventPublisher.flush();
+        awaitQuietly(results);
+
+        List<Long> publishedIds = collectPublishedIds(events, results);
+        List<Long> unpublishedIds = new ArrayList<>(events.size() - publishedIds.size());
+        Set<Long> published = new HashSet<>(publishedIds);
+        for (OutboxEvent event : events) {
+            if (!published.contains(event.getId())) {
+                unpublishedIds.add(event.getId());
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            outboxEventRepository.deleteAllByIdInBatch(publishedIds);
+            if (!unpublishedIds.isEmpty()) {
+                outboxEventRepository.release(unpublishedIds);
+            }
+        });
+        log.debug("아웃박스 이벤트 발행 완료: published={}, fetched={}", publishedIds.size(), events.size());
+        return unpublishedIds.isEmpty() ? events.size() : 0;
+    }
+
+    /**
+     * 다른 릴레이가 점유한 배치가 없으면 저장 순서대로 다음 배치를 점유합니다.
+     */
+    private List<OutboxEvent> claimBatch() {
+        if (!outboxEventRepository.tryAcquireRelayLock(RELAY_LOCK_KEY)) {
+            return List.of();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (outboxEventRepository.existsByClaimedUntilAfter(now)) {
+            return List.of();
+        }
+
+        List<OutboxEvent> events = outboxEventRepository.findByOrderByIdAsc(PageRequest.of(0, batchSize));
+        if (!events.isEmpty()) {
+            List<Long> ids = new ArrayList<>(events.size());
+            for (OutboxEvent event : events) {
+                ids.add(event.getId());
+            }
+            outboxEventRepository.claim(ids, now.plus(Duration.ofMillis(claimTimeoutMillis)));
+        }
+        return events;
+    }
+
+    private void awaitQuietly(List<CompletableFuture<Void>> results) {
+        try {
+            CompletableFuture.allOf(results.toArray(new CompletableFuture[0]))
+                    .get(publishTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("아웃박스 이벤트 발행 실패: error={}", e.getMessage());
+        }
+    }
+
+    /**
+     * 삭제할 이벤트 ID를 고릅니다. 같은 파티션 키에서 한 번 실패하면 그 뒤 이벤트는 타입과 관계없이 발행됐더라도 남겨서
+     * 다음 주기에 실패한 이벤트와 함께 순서대로 다시 발행되도록 합니다. 사용량 이벤트와 증가분 이벤트의 순서도 이렇게 유지됩니다.
+     */
+    private List<Long> collectPublishedIds(List<OutboxEvent> events, List<CompletableFuture<Void>> results) {
+        List<Long> publishedIds = new ArrayList<>(events.size());
+        Set<String> failedKeys = new HashSet<>();
+        for (int i = 0; i < events.size(); i++) {
+            OutboxEvent event = events.get(i);
+            String key = event.getPartitionKey();
+            CompletableFuture<Void> result = results.get(i);
+            if (failedKeys.contains(key) || !result.isDone() || result.isCompletedExceptionally()) {
+                failedKeys.add(key);
+            } else {
+                publishedIds.add(event.getId());
+            }
+        }
+        return publishedIds;
+    }
+}
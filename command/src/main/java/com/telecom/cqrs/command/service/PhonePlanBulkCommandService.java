@@ -0,0 +1,120 @@
+package com.telecom.cqrs.command.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.telecom.cqrs.command.domain.PhonePlan;
+import com.telecom.cqrs.common.dto.BulkPlanChangeResponse;
+import com.telecom.cqrs.common.dto.BulkPlanChangeResponse.RowFailure;
+import com.telecom.cqrs.common.exception.PhonePlanChangeException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 여러 사용자의 요금제를 한 번에 변경하는 서비스입니다.
+ * 요청 본문을 청크 단위로 읽어 청크마다 하나의 upsert 문장과 하나의 아웃박스 배치로 저장합니다.
+ * 청크 저장이 실패하면 해당 청크만 행 단위로 다시 저장해 실패한 행을 찾아 보고합니다.
+ */
+@Slf4j
+@Service
+public class PhonePlanBulkCommandService {
+    private final PhonePlanCommandService phonePlanCommandService;
+    private final ObjectReader planReader;
+    private final int chunkSize;
+
+    public PhonePlanBulkCommandService(
+            PhonePlanCommandService phonePlanCommandService,
+            ObjectMapper objectMapper,
+            @Value("${plan.bulk.chunk-size:1000}") int chunkSize) {
+        this.phonePlanCommandService = phonePlanCommandService;
+        this.planReader = objectMapper.readerFor(PhonePlan.class);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * 요청 본문을 읽어 요금제를 변경합니다.
+     *
+     * @param body NDJSON 또는 JSON 배열 형식의 요금제 목록
+     * @return 처리 건수, 처리 속도와 실패한 행 목록
+     */
+    public BulkPlanChangeResponse changePhonePlans(InputStream body) {
+        long start = System.nanoTime();
+        BulkPlanChangeResponse response = BulkPlanChangeResponse.builder()
+                .failures(new ArrayList<>())
+                .build();
+
+        try {
+            int malformedRow = ChunkedJsonReader.<PhonePlan>read(planReader, body, chunkSize,
+                    (chunk, firstRow) -> processChunk(chunk, firstRow, response));
+            if (malformedRow > 0) {
+                fail(response, malformedRow, "요청 형식이 올바르지 않아 이후 행은 처리하지 않았습니다");
+            }
+        } catch (IOException e) {
+            throw new PhonePlanChangeException("대량 요금제 요청을 읽는 중 오류가 발생했습니다", e);
+        }
+
+        long elapsedMillis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        response.setElapsedMillis(elapsedMillis);
+        response.setRowsPerSecond(response.getSucceeded() * 1000.0 / elapsedMillis);
+        log.info("대량 요금제 변경 완료: total={}, succeeded={}, failed={}, elapsed={}ms, rows/s={}",
+                response.getTotal(), response.getSucceeded(), response.getFailed(),
+                elapsedMillis, String.format("%.1f", response.getRowsPerSecond()));
+        return response;
+    }
+
+    private void processChunk(List<PhonePlan> chunk, int firstRow, BulkPlanChangeResponse response) {
+        // 같은 사용자가 청크에 여러 번 있으면 마지막 행만 저장하고, 앞선 행은 같은 결과를 공유합니다.
+        Map<String, List<Integer>> rowsByUser = new LinkedHashMap<>();
+        Map<String, PhonePlan> lastPlanByUser = new LinkedHashMap<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            PhonePlan plan = chunk.get(i);
+            if (plan == null || plan.getUserId() == null || plan.getUserId().isBlank()) {
+                fail(response, firstRow + i, "사용자 ID가 없습니다");
+                continue;
+            }
+            rowsByUser.computeIfAbsent(plan.getUserId(), userId -> new ArrayList<>()).add(firstRow + i);
+            lastPlanByUser.put(plan.getUserId(), plan);
+        }
+        if (lastPlanByUser.isEmpty()) {
+            return;
+        }
+
+        try {
+            phonePlanCommandService.changePhonePlans(new ArrayList<>(lastPlanByUser.values()));
+            rowsByUser.values().forEach(rows -> succeed(response, rows.size()));
+            return;
+        } catch (Exception e) {
+            log.warn("대량 요금제 청크 저장 실패, 행 단위로 재시도합니다: firstRow={}, size={}, error={}",
+                    firstRow, chunk.size(), e.getMessage());
+        }
+
+        for (Map.Entry<String, PhonePlan> entry : lastPlanByUser.entrySet()) {
+            List<Integer> rows = rowsByUser.get(entry.getKey());
+            try {
+                phonePlanCommandService.changePhonePlan(entry.getValue());
+                succeed(response, rows.size());
+            } catch (Exception e) {
+                String reason = e.getCause() != null ? e.getCause().getMessage() : e.getMessage();
+                rows.forEach(row -> fail(response, row, reason));
+            }
+        }
+    }
+
+    private void succeed(BulkPlanChangeResponse response, int rows) {
+        response.setTotal(response.getTotal() + rows);
+        response.setSucceeded(response.getSucceeded() + rows);
+    }
+
+    private void fail(BulkPlanChangeResponse response, int row, String message) {
+        response.setTotal(response.getTotal() + 1);
+        response.setFailed(response.getFailed() + 1);
+        response.getFailures().add(new RowFailure(row, message));
+    }
+}
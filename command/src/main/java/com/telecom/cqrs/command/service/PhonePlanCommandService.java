@@ -1,52 +1,57 @@
 package com.telecom.cqrs.command.service;
 
-import com.azure.messaging.eventhubs.EventData;
-import com.azure.messaging.eventhubs.EventDataBatch;
-import com.azure.messaging.eventhubs.EventHubProducerClient;
-import com.azure.messaging.eventhubs.models.CreateBatchOptions;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.telecom.cqrs.command.domain.PhonePlan;
-import com.telecom.cqrs.common.constant.EventHubConstants;
+import com.telecom.cqrs.common.dto.UsageDeltaRequest;
 import com.telecom.cqrs.common.dto.UsageUpdateRequest;
 import com.telecom.cqrs.common.dto.UsageUpdateResponse;
 import com.telecom.cqrs.common.event.PhonePlanEvent;
+import com.telecom.cqrs.common.event.UsageDeltaEvent;
 import com.telecom.cqrs.common.event.UsageUpdatedEvent;
-import com.telecom.cqrs.common.exception.EventHubException;
 import com.telecom.cqrs.common.exception.PhonePlanChangeException;
 import com.telecom.cqrs.common.exception.UsageUpdateException;
 import com.telecom.cqrs.command.repository.PhonePlanRepository;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 public class PhonePlanCommandService {
     private final PhonePlanRepository phonePlanRepository;
-    private final EventHubProducerClient planEventProducer;
-    private final EventHubProducerClient usageEventProducer;
-    private final ObjectMapper objectMapper;
+    private final EventOutbox eventOutbox;
+    private final KnownUserIndex knownUserIndex;
+    private final UsageCoalescer usageCoalescer;
 
     public PhonePlanCommandService(
             PhonePlanRepository phonePlanRepository,
-            @Qualifier("planEventProducer") EventHubProducerClient planEventProducer,
-            @Qualifier("usageEventProducer") EventHubProducerClient usageEventProducer,
-            ObjectMapper objectMapper) {
+            EventOutbox eventOutbox,
+            KnownUserIndex knownUserIndex,
+            UsageCoalescer usageCoalescer) {
         this.phonePlanRepository = phonePlanRepository;
-        this.planEventProducer = planEventProducer;
-        this.usageEventProducer = usageEventProducer;
-        this.objectMapper = objectMapper;
+        this.eventOutbox = eventOutbox;
+        this.knownUserIndex = knownUserIndex;
+        this.usageCoalescer = usageCoalescer;
     }
 
+    /**
+     * 요금제를 저장하고 변경 이벤트를 같은 트랜잭션에서 아웃박스에 기록합니다.
+     * Event Hub 발행은 {@link OutboxEventRelay}가 비동기로 처리합니다.
+     */
+    @Transactional
     public PhonePlan changePhonePlan(PhonePlan phonePlan) {
         try {
             PhonePlan savedPlan = savePlan(phonePlan);
             PhonePlanEvent event = createPlanEvent(savedPlan);
-            publishEvent(event, savedPlan.getUserId(), planEventProducer);
+            eventOutbox.append(event, savedPlan.getUserId());
+            knownUserIndex.add(savedPlan.getUserId());
             return savedPlan;
         } catch (Exception e) {
             log.warn("요금제 변경 실패: userId={}, error={}", maskUserId(phonePlan.getUserId()), e.getMessage());
@@ -54,58 +59,132 @@ public class PhonePlanCommandService {
         }
     }
 
-    private <T> void publishEvent(T event, String partitionKey, EventHubProducerClient producer) {
-        try {
-            CreateBatchOptions options = new CreateBatchOptions()
-                    .setPartitionKey(partitionKey);
-
-            EventDataBatch batch = producer.createBatch(options);
-            String eventJson = objectMapper.writeValueAsString(event);
-            EventData eventData = new EventData(eventJson);
-
-            String eventType = getEventType(event);
-            eventData.getProperties().put("type", eventType);
+    /**
+     * 여러 요금제를 한 번의 upsert 문장으로 저장하고 변경 이벤트를 아웃박스에 배치로 기록합니다.
+     * 하나라도 실패하면 전체가 롤백됩니다.
+     *
+     * @param phonePlans 저장할 요금제 목록(사용자 ID 중복 없음)
+     * @return 저장된 요금제 목록
+     */
+    @Transactional
+    public List<PhonePlan> changePhonePlans(List<PhonePlan> phonePlans) {
+        List<PhonePlan> savedPlans = phonePlanRepository.upsertAll(phonePlans);
+        List<PhonePlanEvent> events = savedPlans.stream()
+                .map(this::createPlanEvent)
+                .toList();
+        eventOutbox.appendAll(events);
+        savedPlans.forEach(plan -> knownUserIndex.add(plan.getUserId()));
+        return savedPlans;
+    }
 
-            if (!batch.tryAdd(eventData)) {
-                throw new EventHubException("이벤트 크기가 너무 큽니다");
+    /**
+     * 사용자 존재 여부를 확인하고 사용량 이벤트를 아웃박스에 기록합니다.
+     * 병합이 켜져 있으면 {@link UsageCoalescer}를 거쳐 윈도우 단위로 기록됩니다.
+     */
+    @Transactional
+    public UsageUpdateResponse updateUsage(UsageUpdateRequest request) {
+        try {
+            if (!knownUserIndex.exists(request.getUserId())) {
+                throw new UsageUpdateException("존재하지 않는 사용자입니다: " + maskUserId(request.getUserId()));
             }
 
-            producer.send(batch);
-            log.info("이벤트 발행 완료: type={}, userId={}", eventType, maskUserId(partitionKey));
+            UsageUpdatedEvent event = createUsageEvent(request);
+            if (usageCoalescer.isEnabled()) {
+                usageCoalescer.submit(event);
+            } else {
+                eventOutbox.append(event, request.getUserId());
+            }
 
+            return UsageUpdateResponse.builder()
+                    .success(true)
+                    .message("사용량 업데이트가 완료되었습니다")
+                    .userId(maskUserId(request.getUserId()))
+                    .build();
         } catch (Exception e) {
-            log.warn("이벤트 발행 실패: type={}, userId={}, error={}",
-                    event.getClass().getSimpleName(), maskUserId(partitionKey), e.getMessage());
-            throw new EventHubException("이벤트 발행 중 오류가 발생했습니다", e);
+            log.warn("사용량 업데이트 실패: userId={}, error={}", maskUserId(request.getUserId()), e.getMessage());
+            throw new UsageUpdateException("사용량 업데이트 중 오류가 발생했습니다", e);
         }
     }
 
-    public UsageUpdateResponse updateUsage(UsageUpdateRequest request) {
+    /**
+     * 사용자 존재 여부를 확인하고 사용량 증가분 이벤트를 아웃박스에 기록합니다.
+     * 증가분끼리는 순서와 무관하게 더해지므로 병합 단계를 거치지 않지만, 사용량 이벤트({@code $set})와는 순서가 중요합니다.
+     * 그래서 병합 대기 중인 같은 사용자의 사용량 이벤트가 있으면 증가분보다 먼저 기록합니다.
+     */
+    @Transactional
+    public UsageUpdateResponse incrementUsage(UsageDeltaRequest request) {
         try {
-            phonePlanRepository.findByUserId(request.getUserId())
-                    .orElseThrow(() -> new UsageUpdateException("존재하지 않는 사용자입니다: " + maskUserId(request.getUserId())));
+            if (request.getDataUsage() == null && request.getCallUsage() == null && request.getMessageUsage() == null) {
+                throw new UsageUpdateException("증가할 사용량이 없습니다");
+            }
+            if (!knownUserIndex.exists(request.getUserId())) {
+                throw new UsageUpdateException("존재하지 않는 사용자입니다: " + maskUserId(request.getUserId()));
+            }
 
-            UsageUpdatedEvent event = createUsageEvent(request);
-            publishEvent(event, request.getUserId(), usageEventProducer);
+            if (usageCoalescer.isEnabled()) {
+                UsageUpdatedEvent pendingUsage = usageCoalescer.take(request.getUserId());
+                if (pendingUsage != null) {
+                    eventOutbox.append(pendingUsage, request.getUserId());
+                }
+            }
+            eventOutbox.append(createUsageDeltaEvent(request), request.getUserId());
 
             return UsageUpdateResponse.builder()
                     .success(true)
-                    .message("사용량 업데이트가 완료되었습니다")
+                    .message("사용량 증가가 반영되었습니다")
                     .userId(maskUserId(request.getUserId()))
                     .build();
         } catch (Exception e) {
-            log.warn("사용량 업데이트 실패: userId={}, error={}", maskUserId(request.getUserId()), e.getMessage());
-            throw new UsageUpdateException("사용량 업데이트 중 오류가 발생했습니다", e);
+            log.warn("사용량 증가 실패: userId={}, error={}", maskUserId(request.getUserId()), e.getMessage());
+            throw new UsageUpdateException("사용량 증가 중 오류가 발생했습니다", e);
         }
     }
 
-    private void update(PhonePlan existingPlan, PhonePlan newPlan) {
-        existingPlan.setPlanName(newPlan.getPlanName());
-        existingPlan.setDataAllowance(newPlan.getDataAllowance());
-        existingPlan.setCallMinutes(newPlan.getCallMinutes());
-        existingPlan.setMessageCount(newPlan.getMessageCount());
-        existingPlan.setMonthlyFee(newPlan.getMonthlyFee());
-        existingPlan.setStatus(newPlan.getStatus() == null ? existingPlan.getStatus() : newPlan.getStatus());
+    /**
+     * 여러 사용량 업데이트를 한 번에 처리합니다.
+     * 사용자 존재 여부는 {@link KnownUserIndex}로 확인하고 판별되지 않는 ID만 한 번의 IN 조회로 확인합니다.
+     * 접수된 이벤트는 한 트랜잭션에서 아웃박스에 배치로 기록합니다.
+     *
+     * @param requests 사용량 업데이트 요청 목록
+     * @return 요청과 같은 순서의 처리 결과
+     */
+    @Transactional
+    public List<UsageUpdateResponse> updateUsageBatch(List<UsageUpdateRequest> requests) {
+        Set<String> userIds = requests.stream()
+                .filter(Objects::nonNull)
+                .map(UsageUpdateRequest::getUserId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<String> existingUserIds = userIds.isEmpty()
+                ? Set.of()
+                : knownUserIndex.filterExisting(userIds);
+
+        List<UsageUpdatedEvent> events = new ArrayList<>();
+        List<UsageUpdateResponse> results = new ArrayList<>(requests.size());
+        for (UsageUpdateRequest request : requests) {
+            String userId = request == null ? null : request.getUserId();
+            if (userId == null || !existingUserIds.contains(userId)) {
+                results.add(UsageUpdateResponse.builder()
+                        .success(false)
+                        .message("존재하지 않는 사용자입니다")
+                        .userId(maskUserId(userId))
+                        .build());
+                continue;
+            }
+            events.add(createUsageEvent(request));
+            results.add(UsageUpdateResponse.builder()
+                    .success(true)
+                    .message("사용량 업데이트가 완료되었습니다")
+                    .userId(maskUserId(userId))
+                    .build());
+        }
+
+        if (usageCoalescer.isEnabled()) {
+            events.forEach(usageCoalescer::submit);
+        } else {
+            eventOutbox.appendAll(events);
+        }
+        return results;
     }
 
     private PhonePlanEvent createPlanEvent(PhonePlan plan) {
@@ -135,23 +214,20 @@ public class PhonePlanCommandService {
                 .build();
     }
 
-    private String getEventType(Object event) {
-        if (event instanceof PhonePlanEvent) {
-            return EventHubConstants.EVENT_TYPE_PLAN;
-        } else if (event instanceof UsageUpdatedEvent) {
-            return EventHubConstants.EVENT_TYPE_USAGE;
-        }
-        throw new IllegalArgumentException("지원되지 않는 이벤트 타입입니다: " + event.getClass().getSimpleName());
+    private UsageDeltaEvent createUsageDeltaEvent(UsageDeltaRequest request) {
+        return UsageDeltaEvent.builder()
+                .eventId(UUID.randomUUID().toString())
+                .eventType("USAGE_INCREMENTED")
+                .userId(request.getUserId())
+                .dataUsage(request.getDataUsage())
+                .callUsage(request.getCallUsage())
+                .messageUsage(request.getMessageUsage())
+                .timestamp(LocalDateTime.now())
+                .build();
     }
 
-    @Transactional
-    protected PhonePlan savePlan(PhonePlan phonePlan) {
-        return phonePlanRepository.findByUserId(phonePlan.getUserId())
-                .map(existingPlan -> {
-                    update(existingPlan, phonePlan);
-                    return phonePlanRepository.save(existingPlan);
-                })
-                .orElseGet(() -> phonePlanRepository.save(phonePlan));
+    private PhonePlan savePlan(PhonePlan phonePlan) {
+        return phonePlanRepository.upsert(phonePlan);
     }
 
     private String maskUserId(String userId) {
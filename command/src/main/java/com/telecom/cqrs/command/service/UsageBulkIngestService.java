@@ -0,0 +1,94 @@
+package com.telecom.cqrs.command.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.telecom.cqrs.common.dto.BulkUsageUpdateResponse;
+import com.telecom.cqrs.common.dto.BulkUsageUpdateResponse.LineResult;
+import com.telecom.cqrs.common.dto.UsageUpdateRequest;
+import com.telecom.cqrs.common.dto.UsageUpdateResponse;
+import com.telecom.cqrs.common.exception.UsageUpdateException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * NDJSON 또는 JSON 배열로 전달된 사용량 요청을 스트리밍으로 처리하는 서비스입니다.
+ * 요청 본문을 {@link ChunkedJsonReader}로 청크 단위로 파싱해 {@link PhonePlanCommandService#updateUsageBatch}에 넘깁니다.
+ */
+@Slf4j
+@Service
+public class UsageBulkIngestService {
+    private final PhonePlanCommandService phonePlanCommandService;
+    private final ObjectReader requestReader;
+    private final int chunkSize;
+
+    public UsageBulkIngestService(
+            PhonePlanCommandService phonePlanCommandService,
+            ObjectMapper objectMapper,
+            @Value("${usage.bulk.chunk-size:1000}") int chunkSize) {
+        this.phonePlanCommandService = phonePlanCommandService;
+        this.requestReader = objectMapper.readerFor(UsageUpdateRequest.class);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * 요청 본문을 읽어 사용량 업데이트를 처리합니다.
+     * 형식이 잘못된 줄을 만나면 해당 줄을 거부로 기록하고 이후 내용은 처리하지 않습니다.
+     *
+     * @param body NDJSON 또는 JSON 배열 형식의 요청 본문
+     * @return 처리 건수와 거부된 줄의 결과
+     */
+    public BulkUsageUpdateResponse ingest(InputStream body) {
+        BulkUsageUpdateResponse response = BulkUsageUpdateResponse.builder()
+                .results(new ArrayList<>())
+                .build();
+
+        try {
+            int malformedLine = ChunkedJsonReader.<UsageUpdateRequest>read(requestReader, body, chunkSize,
+                    (chunk, firstLine) -> processChunk(chunk, firstLine, response));
+            if (malformedLine > 0) {
+                reject(response, malformedLine, null, "요청 형식이 올바르지 않아 이후 요청은 처리하지 않았습니다");
+            }
+        } catch (IOException e) {
+            throw new UsageUpdateException("대량 사용량 요청을 읽는 중 오류가 발생했습니다", e);
+        }
+
+        log.info("대량 사용량 업데이트 완료: total={}, accepted={}, rejected={}",
+                response.getTotal(), response.getAccepted(), response.getRejected());
+        return response;
+    }
+
+    private void processChunk(List<UsageUpdateRequest> chunk, int firstLine, BulkUsageUpdateResponse response) {
+        List<UsageUpdateResponse> results;
+        try {
+            results = phonePlanCommandService.updateUsageBatch(chunk);
+        } catch (Exception e) {
+            log.warn("대량 사용량 청크 처리 실패: firstLine={}, size={}, error={}", firstLine, chunk.size(), e.getMessage());
+            for (int i = 0; i < chunk.size(); i++) {
+                reject(response, firstLine + i, null, "사용량 업데이트 중 오류가 발생했습니다");
+            }
+            return;
+        }
+
+        for (int i = 0; i < results.size(); i++) {
+            UsageUpdateResponse result = results.get(i);
+            if (result.isSuccess()) {
+                response.setTotal(response.getTotal() + 1);
+                response.setAccepted(response.getAccepted() + 1);
+            } else {
+                reject(response, firstLine + i, result.getUserId(), result.getMessage());
+            }
+        }
+    }
+
+    private void reject(BulkUsageUpdateResponse response, int line, String userId, String message) {
+        response.setTotal(response.getTotal() + 1);
+        response.setRejected(response.getRejected() + 1);
+        response.getResults().add(new LineResult(line, userId, false, message));
+    }
+}
@@ -0,0 +1,149 @@
+package com.telecom.cqrs.command.service;
+
+import com.telecom.cqrs.command.metrics.UsageCoalescingMetrics;
+import com.telecom.cqrs.common.event.UsageUpdatedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 사용량 이벤트를 사용자별로 병합해 아웃박스 기록을 줄이는 컴포넌트입니다.
+ *
+ * <p>사용량 이벤트는 절대값을 담고 있으므로 짧은 시간에 같은 사용자의 보고가 여러 번 오면 마지막 값만 의미가 있습니다.
+ * 윈도우 동안 사용자별 최신 값만 남기고, 윈도우가 끝나거나 종료될 때 한 번에 아웃박스로 내보냅니다.
+ * 병합된 이벤트는 내보내기 전까지 메모리에만 있으므로 기본값은 꺼져 있습니다.</p>
+ *
+ * <p>증가분 이벤트는 병합하지 않고 바로 아웃박스에 기록하므로, 그보다 먼저 받은 사용량 이벤트가 대기 중이면
+ * {@link #take}로 꺼내 증가분 앞에 기록해야 합니다. 그렇지 않으면 나중에 내보낸 절대값이 증가분을 덮어씁니다.</p>
+ */
+@Slf4j
+@Component
+public class UsageCoalescer {
+    private final EventOutbox eventOutbox;
+    private final TransactionTemplate transactionTemplate;
+    private final UsageCoalescingMetrics metrics;
+    private final ConcurrentHashMap<String, UsageUpdatedEvent> pending = new ConcurrentHashMap<>();
+    // 내보내기 중인 이벤트가 커밋되기 전에 take로 꺼낸 쪽이 먼저 기록하지 않도록 내보내기 동안 쓰기 잠금을 잡습니다.
+    private final ReentrantReadWriteLock flushLock = new ReentrantReadWriteLock();
+    private final boolean enabled;
+
+    public UsageCoalescer(
+            EventOutbox eventOutbox,
+            TransactionTemplate transactionTemplate,
+            UsageCoalescingMetrics metrics,
+            @Value("${usage.coalescing.enabled:false}") boolean enabled) {
+        this.eventOutbox = eventOutbox;
+        this.transactionTemplate = transactionTemplate;
+        this.metrics = metrics;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 사용량 이벤트를 병합 대기열에 추가합니다.
+     * 같은 사용자의 대기 중인 이벤트가 있으면 새 이벤트의 값으로 덮어쓰고, 새 이벤트에 없는 항목은 유지합니다.
+     */
+    public void submit(UsageUpdatedEvent event) {
+        metrics.incrementEventsSubmitted();
+        pending.merge(event.getUserId(), event, (previous, latest) -> {
+            metrics.incrementEventsCollapsed();
+            return merge(previous, latest);
+        });
+    }
+
+    /**
+     * 사용자의 대기 중인 사용량 이벤트를 꺼냅니다. 없으면 null을 반환합니다.
+     * 진행 중인 내보내기가 있으면 커밋될 때까지 기다리므로, 호출한 트랜잭션에서 이후 기록하는 이벤트는 항상 그 뒤에 놓입니다.
+     * 호출한 트랜잭션이 커밋되지 않으면 꺼낸 이벤트를 다시 대기열에 넣습니다.
+     */
+    public UsageUpdatedEvent take(String userId) {
+        UsageUpdatedEvent event;
+        flushLock.readLock().lock();
+        try {
+            event = pending.remove(userId);
+        } finally {
+            flushLock.readLock().unlock();
+        }
+        if (event != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        requeue(event);
+                    }
+                }
+            });
+        }
+        return event;
+    }
+
+    /**
+     * 윈도우마다 대기 중인 이벤트를 아웃박스로 내보냅니다.
+     */
+    @Scheduled(fixedDelayString = "${usage.coalescing.window-ms:200}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<UsageUpdatedEvent> events = new ArrayList<>(pending.size());
+        flushLock.writeLock().lock();
+        try {
+            for (String userId : pending.keySet()) {
+                UsageUpdatedEvent event = pending.remove(userId);
+                if (event != null) {
+                    events.add(event);
+                }
+            }
+
+            transactionTemplate.executeWithoutResult(status -> eventOutbox.appendAll(events));
+            metrics.addEventsFlushed(events.size());
+            log.debug("병합된 사용량 이벤트 기록 완료: count={}", events.size());
+        } catch (Exception e) {
+            metrics.incrementFlushErrors();
+            log.warn("병합된 사용량 이벤트 기록 실패, 다음 윈도우에 재시도합니다: count={}, error={}",
+                    events.size(), e.getMessage());
+            events.forEach(this::requeue);
+        } finally {
+            flushLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 기록하지 못한 이벤트를 그 사이 들어온 더 새로운 값보다 앞선 것으로 다시 병합합니다.
+     */
+    private void requeue(UsageUpdatedEvent event) {
+        pending.merge(event.getUserId(), event, (latest, previous) -> merge(previous, latest));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        log.info("Flushing coalesced usage events before shutdown: {}", metrics.getMetricsSummary());
+        flush();
+    }
+
+    private UsageUpdatedEvent merge(UsageUpdatedEvent previous, UsageUpdatedEvent latest) {
+        return UsageUpdatedEvent.builder()
+                .eventId(latest.getEventId())
+                .eventType(latest.getEventType())
+                .userId(latest.getUserId())
+                .dataUsage(latest.getDataUsage() != null ? latest.getDataUsage() : previous.getDataUsage())
+                .callUsage(latest.getCallUsage() != null ? latest.getCallUsage() : previous.getCallUsage())
+                .messageUsage(latest.getMessageUsage() != null ? latest.getMessageUsage() : previous.getMessageUsage())
+                .timestamp(latest.getTimestamp())
+                .build();
+    }
+}
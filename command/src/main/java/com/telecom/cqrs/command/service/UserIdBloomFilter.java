@@ -0,0 +1,82 @@
+package com.telecom.cqrs.command.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 사용자 ID 전용 Bloom filter입니다.
+ * 비트 배열은 {@link AtomicLongArray}로 관리해 잠금 없이 동시에 추가/조회할 수 있습니다.
+ */
+class UserIdBloomFilter {
+    private final AtomicLongArray bits;
+    private final long bitSize;
+    private final int hashFunctions;
+
+    UserIdBloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long optimalBits = (long) (-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.max(1, (optimalBits + 63) / 64);
+        this.bits = new AtomicLongArray(words);
+        this.bitSize = (long) words * Long.SIZE;
+        this.hashFunctions = (int) Math.max(1, Math.round((double) bitSize / expectedInsertions * Math.log(2)));
+    }
+
+    /**
+     * 사용자 ID를 추가합니다.
+     *
+     * @return 새로 설정된 비트가 있으면 true (처음 추가된 ID일 가능성이 높음)
+     */
+    boolean put(String userId) {
+        long hash1 = hash(userId);
+        long hash2 = mix(hash1);
+        boolean changed = false;
+        for (int i = 1; i <= hashFunctions; i++) {
+            long index = ((hash1 + i * hash2) & Long.MAX_VALUE) % bitSize;
+            int word = (int) (index >>> 6);
+            long mask = 1L << index;
+            long current;
+            do {
+                current = bits.get(word);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!bits.compareAndSet(word, current, current | mask));
+            changed |= (current & mask) == 0;
+        }
+        return changed;
+    }
+
+    boolean mightContain(String userId) {
+        long hash1 = hash(userId);
+        long hash2 = mix(hash1);
+        for (int i = 1; i <= hashFunctions; i++) {
+            long index = ((hash1 + i * hash2) & Long.MAX_VALUE) % bitSize;
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long sizeInBytes() {
+        return (long) bits.length() * Long.BYTES;
+    }
+
+    private static long hash(String value) {
+        // FNV-1a 64비트 해시에 MurmurHash3 finalizer를 적용합니다.
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -3,6 +3,11 @@ package com.telecom.cqrs.common.constant;
 public class EventHubConstants {
     public static final String EVENT_TYPE_PLAN = "PLAN_CHANGED";
     public static final String EVENT_TYPE_USAGE = "USAGE_UPDATED";
+    public static final String EVENT_TYPE_USAGE_DELTA = "USAGE_INCREMENTED";
+
+    public static final String CONTENT_TYPE_JSON = "application/json";
+    public static final String CONTENT_TYPE_BINARY = "application/x-cqrs-event-v1";
+    public static final String CONTENT_TYPE_ENVELOPE = "application/x-cqrs-envelope-v1+lz4";
 
     private EventHubConstants() {}
 }
\ No newline at end of file
@@ -0,0 +1,52 @@
+package com.telecom.cqrs.common.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 대량 요금제 변경 응답을 위한 DTO 클래스입니다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "대량 요금제 변경 응답")
+public class BulkPlanChangeResponse {
+    @Schema(description = "처리한 행 수", example = "100000")
+    private int total;
+
+    @Schema(description = "저장된 행 수", example = "99998")
+    private int succeeded;
+
+    @Schema(description = "실패한 행 수", example = "2")
+    private int failed;
+
+    @Schema(description = "처리 시간(ms)", example = "4200")
+    private long elapsedMillis;
+
+    @Schema(description = "초당 처리 행 수", example = "23809.5")
+    private double rowsPerSecond;
+
+    @Schema(description = "실패한 행 목록")
+    private List<RowFailure> failures;
+
+    /**
+     * 저장에 실패한 행의 정보입니다.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "실패한 행")
+    public static class RowFailure {
+        @Schema(description = "요청 본문에서의 순번(1부터 시작)", example = "17")
+        private int row;
+
+        @Schema(description = "실패 사유", example = "사용자 ID가 없습니다")
+        private String message;
+    }
+}
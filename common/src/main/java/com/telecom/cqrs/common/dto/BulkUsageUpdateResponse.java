@@ -0,0 +1,52 @@
+package com.telecom.cqrs.common.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 대량 사용량 업데이트 응답을 위한 DTO 클래스입니다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "대량 사용량 업데이트 응답")
+public class BulkUsageUpdateResponse {
+    @Schema(description = "처리한 요청 수", example = "1000")
+    private int total;
+
+    @Schema(description = "접수된 요청 수", example = "998")
+    private int accepted;
+
+    @Schema(description = "거부된 요청 수", example = "2")
+    private int rejected;
+
+    @Schema(description = "거부된 요청의 줄별 결과")
+    private List<LineResult> results;
+
+    /**
+     * 요청 본문의 한 줄(배열 요소)에 대한 처리 결과입니다.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "줄별 처리 결과")
+    public static class LineResult {
+        @Schema(description = "요청 본문에서의 순번(1부터 시작)", example = "17")
+        private int line;
+
+        @Schema(description = "사용자 ID", example = "us****23")
+        private String userId;
+
+        @Schema(description = "성공 여부", example = "false")
+        private boolean success;
+
+        @Schema(description = "결과 메시지", example = "존재하지 않는 사용자입니다")
+        private String message;
+    }
+}
@@ -0,0 +1,23 @@
+package com.telecom.cqrs.common.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+/**
+ * 사용량 증가 요청을 위한 DTO 클래스입니다.
+ */
+@Data
+@Schema(description = "사용량 증가 요청")
+public class UsageDeltaRequest {
+    @Schema(description = "사용자 ID", example = "user123", required = true)
+    private String userId;
+
+    @Schema(description = "추가 데이터 사용량(GB)", example = "2")
+    private Long dataUsage;
+
+    @Schema(description = "추가 통화 사용량(분)", example = "10")
+    private Long callUsage;
+
+    @Schema(description = "추가 문자 사용량(건)", example = "3")
+    private Long messageUsage;
+}
@@ -0,0 +1,314 @@
+package com.telecom.cqrs.common.event;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+/**
+ * {@link PhonePlanEvent}, {@link UsageUpdatedEvent}, {@link UsageDeltaEvent}를 위한 스키마 기반 바이너리 코덱입니다.
+ *
+ * <p>필드 이름 없이 정해진 순서로 값을 기록합니다. 정수는 zigzag varint, 시각은 epoch 초와 나노초,
+ * UUID 형식의 이벤트 ID는 16바이트로 기록하고, null 가능한 필드는 앞쪽의 플래그 비트로 표시합니다.</p>
+ *
+ * <pre>
+ * [format version:1][event kind:1][flags:varint][fields...]
+ * </pre>
+ */
+public final class BinaryEventCodec {
+    public static final int FORMAT_VERSION = 1;
+
+    private static final int KIND_PLAN = 1;
+    private static final int KIND_USAGE = 2;
+    private static final int KIND_USAGE_DELTA = 3;
+
+    private static final int FLAG_EVENT_ID = 1;
+    private static final int FLAG_EVENT_ID_UUID = 1 << 1;
+    private static final int FLAG_EVENT_TYPE = 1 << 2;
+    private static final int FLAG_EVENT_TYPE_DEFAULT = 1 << 3;
+    private static final int FLAG_USER_ID = 1 << 4;
+    private static final int FLAG_TIMESTAMP = 1 << 5;
+    private static final int FLAG_PLAN_NAME = 1 << 6;
+    private static final int FLAG_STATUS = 1 << 7;
+    private static final int FLAG_DATA_USAGE = 1 << 6;
+    private static final int FLAG_CALL_USAGE = 1 << 7;
+    private static final int FLAG_MESSAGE_USAGE = 1 << 8;
+
+    private static final String DEFAULT_PLAN_EVENT_TYPE = "PLAN_CHANGED";
+    private static final String DEFAULT_USAGE_EVENT_TYPE = "USAGE_UPDATED";
+    private static final String DEFAULT_USAGE_DELTA_EVENT_TYPE = "USAGE_INCREMENTED";
+
+    private BinaryEventCodec() {}
+
+    public static byte[] encode(PhonePlanEvent event) {
+        int flags = headerFlags(event.getEventId(), event.getEventType(), DEFAULT_PLAN_EVENT_TYPE,
+                event.getUserId(), event.getTimestamp());
+        if (event.getPlanName() != null) {
+            flags |= FLAG_PLAN_NAME;
+        }
+        if (event.getStatus() != null) {
+            flags |= FLAG_STATUS;
+        }
+
+        Writer writer = new Writer(64);
+        writer.writeByte(FORMAT_VERSION);
+        writer.writeByte(KIND_PLAN);
+        writer.writeVarint(flags);
+        writeHeader(writer, flags, event.getEventId(), event.getEventType(), event.getUserId(), event.getTimestamp());
+        if ((flags & FLAG_PLAN_NAME) != 0) {
+            writer.writeString(event.getPlanName());
+        }
+        writer.writeSignedVarint(event.getDataAllowance());
+        writer.writeSignedVarint(event.getCallMinutes());
+        writer.writeSignedVarint(event.getMessageCount());
+        writer.writeDouble(event.getMonthlyFee());
+        if ((flags & FLAG_STATUS) != 0) {
+            writer.writeString(event.getStatus());
+        }
+        return writer.toByteArray();
+    }
+
+    public static byte[] encode(UsageUpdatedEvent event) {
+        return encodeUsage(KIND_USAGE, DEFAULT_USAGE_EVENT_TYPE, event.getEventId(), event.getEventType(),
+                event.getUserId(), event.getTimestamp(),
+                event.getDataUsage(), event.getCallUsage(), event.getMessageUsage());
+    }
+
+    public static byte[] encode(UsageDeltaEvent event) {
+        return encodeUsage(KIND_USAGE_DELTA, DEFAULT_USAGE_DELTA_EVENT_TYPE, event.getEventId(), event.getEventType(),
+                event.getUserId(), event.getTimestamp(),
+                event.getDataUsage(), event.getCallUsage(), event.getMessageUsage());
+    }
+
+    public static PhonePlanEvent decodePlanEvent(byte[] body) {
+        ByteBuffer buffer = ByteBuffer.wrap(body);
+        int flags = readPreamble(buffer, KIND_PLAN);
+
+        PhonePlanEvent event = new PhonePlanEvent();
+        event.setEventId(readEventId(buffer, flags));
+        event.setEventType(readEventType(buffer, flags, DEFAULT_PLAN_EVENT_TYPE));
+        event.setUserId((flags & FLAG_USER_ID) != 0 ? readString(buffer) : null);
+        event.setTimestamp((flags & FLAG_TIMESTAMP) != 0 ? readTimestamp(buffer) : null);
+        event.setPlanName((flags & FLAG_PLAN_NAME) != 0 ? readString(buffer) : null);
+        event.setDataAllowance((int) readSignedVarint(buffer));
+        event.setCallMinutes((int) readSignedVarint(buffer));
+        event.setMessageCount((int) readSignedVarint(buffer));
+        event.setMonthlyFee(buffer.getDouble());
+        event.setStatus((flags & FLAG_STATUS) != 0 ? readString(buffer) : null);
+        return event;
+    }
+
+    public static UsageDeltaEvent decodeUsageDeltaEvent(byte[] body) {
+        ByteBuffer buffer = ByteBuffer.wrap(body);
+        int flags = readPreamble(buffer, KIND_USAGE_DELTA);
+
+        UsageDeltaEvent event = new UsageDeltaEvent();
+        event.setEventId(readEventId(buffer, flags));
+        event.setEventType(readEventType(buffer, flags, DEFAULT_USAGE_DELTA_EVENT_TYPE));
+        event.setUserId((flags & FLAG_USER_ID) != 0 ? readString(buffer) : null);
+        event.setTimestamp((flags & FLAG_TIMESTAMP) != 0 ? readTimestamp(buffer) : null);
+        event.setDataUsage((flags & FLAG_DATA_USAGE) != 0 ? readSignedVarint(buffer) : null);
+        event.setCallUsage((flags & FLAG_CALL_USAGE) != 0 ? readSignedVarint(buffer) : null);
+        event.setMessageUsage((flags & FLAG_MESSAGE_USAGE) != 0 ? readSignedVarint(buffer) : null);
+        return event;
+    }
+
+    public static UsageUpdatedEvent decodeUsageEvent(byte[] body) {
+        ByteBuffer buffer = ByteBuffer.wrap(body);
+        int flags = readPreamble(buffer, KIND_USAGE);
+
+        UsageUpdatedEvent event = new UsageUpdatedEvent();
+        event.setEventId(readEventId(buffer, flags));
+        event.setEventType(readEventType(buffer, flags, DEFAULT_USAGE_EVENT_TYPE));
+        event.setUserId((flags & FLAG_USER_ID) != 0 ? readString(buffer) : null);
+        event.setTimestamp((flags & FLAG_TIMESTAMP) != 0 ? readTimestamp(buffer) : null);
+        event.setDataUsage((flags & FLAG_DATA_USAGE) != 0 ? readSignedVarint(buffer) : null);
+        event.setCallUsage((flags & FLAG_CALL_USAGE) != 0 ? readSignedVarint(buffer) : null);
+        event.setMessageUsage((flags & FLAG_MESSAGE_USAGE) != 0 ? readSignedVarint(buffer) : null);
+        return event;
+    }
+
+    private static byte[] encodeUsage(int kind, String defaultEventType, String eventId, String eventType,
+                                      String userId, LocalDateTime timestamp,
+                                      Long dataUsage, Long callUsage, Long messageUsage) {
+        int flags = headerFlags(eventId, eventType, defaultEventType, userId, timestamp);
+        if (dataUsage != null) {
+            flags |= FLAG_DATA_USAGE;
+        }
+        if (callUsage != null) {
+            flags |= FLAG_CALL_USAGE;
+        }
+        if (messageUsage != null) {
+            flags |= FLAG_MESSAGE_USAGE;
+        }
+
+        Writer writer = new Writer(48);
+        writer.writeByte(FORMAT_VERSION);
+        writer.writeByte(kind);
+        writer.writeVarint(flags);
+        writeHeader(writer, flags, eventId, eventType, userId, timestamp);
+        if ((flags & FLAG_DATA_USAGE) != 0) {
+            writer.writeSignedVarint(dataUsage);
+        }
+        if ((flags & FLAG_CALL_USAGE) != 0) {
+            writer.writeSignedVarint(callUsage);
+        }
+        if ((flags & FLAG_MESSAGE_USAGE) != 0) {
+            writer.writeSignedVarint(messageUsage);
+        }
+        return writer.toByteArray();
+    }
+
+    private static int headerFlags(String eventId, String eventType, String defaultEventType,
+                                   String userId, LocalDateTime timestamp) {
+        int flags = 0;
+        if (eventId != null) {
+            flags |= FLAG_EVENT_ID;
+            if (isUuid(eventId)) {
+                flags |= FLAG_EVENT_ID_UUID;
+            }
+        }
+        if (eventType != null) {
+            flags |= defaultEventType.equals(eventType) ? FLAG_EVENT_TYPE_DEFAULT : FLAG_EVENT_TYPE;
+        }
+        if (userId != null) {
+            flags |= FLAG_USER_ID;
+        }
+        if (timestamp != null) {
+            flags |= FLAG_TIMESTAMP;
+        }
+        return flags;
+    }
+
+    private static void writeHeader(Writer writer, int flags, String eventId, String eventType,
+                                    String userId, LocalDateTime timestamp) {
+        if ((flags & FLAG_EVENT_ID_UUID) != 0) {
+            UUID uuid = UUID.fromString(eventId);
+            writer.writeLong(uuid.getMostSignificantBits());
+            writer.writeLong(uuid.getLeastSignificantBits());
+        } else if ((flags & FLAG_EVENT_ID) != 0) {
+            writer.writeString(eventId);
+        }
+        if ((flags & FLAG_EVENT_TYPE) != 0) {
+            writer.writeString(eventType);
+        }
+        if ((flags & FLAG_USER_ID) != 0) {
+            writer.writeString(userId);
+        }
+        if ((flags & FLAG_TIMESTAMP) != 0) {
+            writer.writeSignedVarint(timestamp.toEpochSecond(ZoneOffset.UTC));
+            writer.writeVarint(timestamp.getNano());
+        }
+    }
+
+    private static int readPreamble(ByteBuffer buffer, int expectedKind) {
+        int version = buffer.get() & 0xFF;
+        if (version != FORMAT_VERSION) {
+            throw new IllegalArgumentException("지원되지 않는 이벤트 포맷 버전입니다: " + version);
+        }
+        int kind = buffer.get() & 0xFF;
+        if (kind != expectedKind) {
+            throw new IllegalArgumentException("이벤트 종류가 일치하지 않습니다: " + kind);
+        }
+        return (int) readVarint(buffer);
+    }
+
+    private static String readEventId(ByteBuffer buffer, int flags) {
+        if ((flags & FLAG_EVENT_ID_UUID) != 0) {
+            return new UUID(buffer.getLong(), buffer.getLong()).toString();
+        }
+        return (flags & FLAG_EVENT_ID) != 0 ? readString(buffer) : null;
+    }
+
+    private static String readEventType(ByteBuffer buffer, int flags, String defaultEventType) {
+        if ((flags & FLAG_EVENT_TYPE_DEFAULT) != 0) {
+            return defaultEventType;
+        }
+        return (flags & FLAG_EVENT_TYPE) != 0 ? readString(buffer) : null;
+    }
+
+    private static LocalDateTime readTimestamp(ByteBuffer buffer) {
+        long epochSecond = readSignedVarint(buffer);
+        int nano = (int) readVarint(buffer);
+        return LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = (int) readVarint(buffer);
+        String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    private static long readVarint(ByteBuffer buffer) {
+        long value = 0;
+        int shift = 0;
+        while (true) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+            shift += 7;
+            if (shift > 63) {
+                throw new IllegalArgumentException("잘못된 varint 인코딩입니다");
+            }
+        }
+    }
+
+    private static long readSignedVarint(ByteBuffer buffer) {
+        long raw = readVarint(buffer);
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    private static boolean isUuid(String value) {
+        if (value.length() != 36) {
+            return false;
+        }
+        try {
+            return UUID.fromString(value).toString().equals(value);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static final class Writer extends ByteArrayOutputStream {
+        private Writer(int size) {
+            super(size);
+        }
+
+        void writeByte(int value) {
+            write(value);
+        }
+
+        void writeVarint(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+
+        void writeSignedVarint(long value) {
+            writeVarint((value << 1) ^ (value >> 63));
+        }
+
+        void writeLong(long value) {
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                write((int) (value >>> shift));
+            }
+        }
+
+        void writeDouble(double value) {
+            writeLong(Double.doubleToLongBits(value));
+        }
+
+        void writeString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarint(bytes.length);
+            write(bytes, 0, bytes.length);
+        }
+    }
+}
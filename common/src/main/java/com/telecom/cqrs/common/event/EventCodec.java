@@ -0,0 +1,81 @@
+package com.telecom.cqrs.common.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.telecom.cqrs.common.constant.EventHubConstants;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Event Hub 메시지 본문을 content-type에 따라 직렬화/역직렬화합니다.
+ * JSON과 {@link BinaryEventCodec} 형식을 모두 지원하며, content-type이 없으면 JSON으로 간주합니다.
+ * 여러 이벤트를 묶은 {@link EventEnvelope}도 풀어서 읽을 수 있습니다.
+ */
+public class EventCodec {
+    private final ObjectMapper objectMapper;
+
+    public EventCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 이벤트를 지정한 content-type으로 직렬화합니다.
+     */
+    public byte[] encode(Object event, String contentType) throws IOException {
+        if (!EventHubConstants.CONTENT_TYPE_BINARY.equals(contentType)) {
+            return objectMapper.writeValueAsBytes(event);
+        }
+        if (event instanceof PhonePlanEvent planEvent) {
+            return BinaryEventCodec.encode(planEvent);
+        } else if (event instanceof UsageUpdatedEvent usageEvent) {
+            return BinaryEventCodec.encode(usageEvent);
+        } else if (event instanceof UsageDeltaEvent deltaEvent) {
+            return BinaryEventCodec.encode(deltaEvent);
+        }
+        throw new IllegalArgumentException("바이너리 인코딩을 지원하지 않는 이벤트입니다: " + event.getClass().getSimpleName());
+    }
+
+    /**
+     * 메시지 본문을 content-type에 맞게 역직렬화합니다.
+     */
+    public <T> T decode(byte[] body, String contentType, Class<T> eventClass) throws IOException {
+        if (!EventHubConstants.CONTENT_TYPE_BINARY.equals(contentType)) {
+            return objectMapper.readValue(body, eventClass);
+        }
+        try {
+            if (eventClass == PhonePlanEvent.class) {
+                return eventClass.cast(BinaryEventCodec.decodePlanEvent(body));
+            } else if (eventClass == UsageUpdatedEvent.class) {
+                return eventClass.cast(BinaryEventCodec.decodeUsageEvent(body));
+            } else if (eventClass == UsageDeltaEvent.class) {
+                return eventClass.cast(BinaryEventCodec.decodeUsageDeltaEvent(body));
+            }
+        } catch (RuntimeException e) {
+            throw new IOException("바이너리 이벤트를 해석할 수 없습니다", e);
+        }
+        throw new IllegalArgumentException("바이너리 디코딩을 지원하지 않는 이벤트입니다: " + eventClass.getSimpleName());
+    }
+
+    /**
+     * 메시지 본문에 담긴 모든 이벤트를 역직렬화합니다.
+     * 엔벨로프면 담긴 이벤트를 순서대로, 아니면 하나의 이벤트를 반환합니다.
+     */
+    public <T> List<T> decodeAll(byte[] body, String contentType, Class<T> eventClass) throws IOException {
+        if (!EventHubConstants.CONTENT_TYPE_ENVELOPE.equals(contentType)) {
+            return List.of(decode(body, contentType, eventClass));
+        }
+
+        List<EventEnvelope.Entry> entries;
+        try {
+            entries = EventEnvelope.unpack(body);
+        } catch (RuntimeException e) {
+            throw new IOException("이벤트 엔벨로프를 해석할 수 없습니다", e);
+        }
+        List<T> events = new ArrayList<>(entries.size());
+        for (EventEnvelope.Entry entry : entries) {
+            events.add(decode(entry.payload(), entry.contentType(), eventClass));
+        }
+        return events;
+    }
+}
@@ -0,0 +1,150 @@
+package com.telecom.cqrs.common.event;
+
+import com.telecom.cqrs.common.constant.EventHubConstants;
+import net.jpountz.lz4.LZ4Factory;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 같은 파티션으로 가는 여러 이벤트를 하나의 LZ4 압축 메시지 본문으로 묶는 엔벨로프 형식입니다.
+ *
+ * <pre>
+ * [format version:1][uncompressed length:4][LZ4 block]
+ * LZ4 block = [entry count:varint]([content-type length:varint][content-type][payload length:varint][payload])*
+ * </pre>
+ */
+public final class EventEnvelope {
+    public static final int FORMAT_VERSION = 1;
+
+    // [format version:1][uncompressed length:4]
+    private static final int HEADER_SIZE = 1 + Integer.BYTES;
+    private static final int MAX_COMPRESSION_RATIO = 255;
+
+    private static final LZ4Factory LZ4 = LZ4Factory.fastestInstance();
+
+    /**
+     * 엔벨로프에 담긴 개별 이벤트입니다.
+     */
+    public record Entry(String contentType, byte[] payload) {
+    }
+
+    private EventEnvelope() {}
+
+    /**
+     * 이벤트 목록을 압축된 엔벨로프 본문으로 만듭니다.
+     */
+    public static byte[] pack(List<Entry> entries) {
+        ByteArrayOutputStream raw = new ByteArrayOutputStream(estimateSize(entries));
+        writeVarint(raw, entries.size());
+        for (Entry entry : entries) {
+            String contentType = entry.contentType() != null ? entry.contentType() : EventHubConstants.CONTENT_TYPE_JSON;
+            byte[] contentTypeBytes = contentType.getBytes(StandardCharsets.UTF_8);
+            writeVarint(raw, contentTypeBytes.length);
+            raw.write(contentTypeBytes, 0, contentTypeBytes.length);
+            writeVarint(raw, entry.payload().length);
+            raw.write(entry.payload(), 0, entry.payload().length);
+        }
+
+        byte[] uncompressed = raw.toByteArray();
+        byte[] compressed = LZ4.fastCompressor().compress(uncompressed);
+        return ByteBuffer.allocate(HEADER_SIZE + compressed.length)
+                .put((byte) FORMAT_VERSION)
+                .putInt(uncompressed.length)
+                .put(compressed)
+                .array();
+    }
+
+    /**
+     * 엔벨로프 본문을 풀어 담긴 이벤트를 순서대로 반환합니다.
+     * 네트워크에서 받은 본문이므로 헤더의 길이와 항목 수, 항목 길이를 모두 검사하고, 형식이 맞지 않으면
+     * {@link IllegalArgumentException}을 던집니다.
+     */
+    public static List<Entry> unpack(byte[] body) {
+        if (body.length < HEADER_SIZE) {
+            throw new IllegalArgumentException("엔벨로프 본문이 너무 짧습니다: " + body.length);
+        }
+        ByteBuffer header = ByteBuffer.wrap(body);
+        int version = header.get() & 0xFF;
+        if (version != FORMAT_VERSION) {
+            throw new IllegalArgumentException("지원되지 않는 엔벨로프 포맷 버전입니다: " + version);
+        }
+        int uncompressedLength = header.getInt();
+        int compressedLength = body.length - HEADER_SIZE;
+        // LZ4 블록은 입력 바이트당 최대 255바이트로 풀리므로 그보다 큰 길이는 손상된 헤더입니다.
+        if (uncompressedLength < 0 || uncompressedLength > (long) compressedLength * MAX_COMPRESSION_RATIO) {
+            throw new IllegalArgumentException("잘못된 엔벨로프 길이입니다: " + uncompressedLength);
+        }
+        byte[] uncompressed = new byte[uncompressedLength];
+        int decompressed = LZ4.safeDecompressor()
+                .decompress(body, HEADER_SIZE, compressedLength, uncompressed, 0, uncompressedLength);
+        if (decompressed != uncompressedLength) {
+            throw new IllegalArgumentException("엔벨로프 길이가 일치하지 않습니다: expected="
+                    + uncompressedLength + ", actual=" + decompressed);
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(uncompressed);
+        // 항목마다 길이 varint가 최소 2바이트이므로 남은 바이트의 절반보다 많을 수 없습니다.
+        int count = readLength(buffer, buffer.remaining() / 2);
+        List<Entry> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            byte[] contentType = new byte[readLength(buffer, buffer.remaining())];
+            buffer.get(contentType);
+            byte[] payload = new byte[readLength(buffer, buffer.remaining())];
+            buffer.get(payload);
+            entries.add(new Entry(new String(contentType, StandardCharsets.UTF_8), payload));
+        }
+        return entries;
+    }
+
+    /**
+     * 엔벨로프 본문(압축 전)에 대략 몇 바이트가 더해지는지 계산합니다.
+     */
+    public static int entrySize(Entry entry) {
+        int contentTypeLength = entry.contentType() != null ? entry.contentType().length() : 0;
+        return contentTypeLength + entry.payload().length + 10;
+    }
+
+    private static int estimateSize(List<Entry> entries) {
+        int size = 5;
+        for (Entry entry : entries) {
+            size += entrySize(entry);
+        }
+        return size;
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static int readLength(ByteBuffer buffer, int max) {
+        long length = readVarint(buffer);
+        if (length < 0 || length > max) {
+            throw new IllegalArgumentException("잘못된 엔벨로프 항목 길이입니다: " + length);
+        }
+        return (int) length;
+    }
+
+    private static long readVarint(ByteBuffer buffer) {
+        long value = 0;
+        int shift = 0;
+        while (true) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+            shift += 7;
+            if (shift > 63) {
+                throw new IllegalArgumentException("잘못된 varint 인코딩입니다");
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.telecom.cqrs.common.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 사용량 증가분 이벤트를 표현하는 클래스입니다.
+ * {@link UsageUpdatedEvent}와 달리 사용량 값이 아니라 더할 양을 담으므로 증가분끼리는 적용 순서에 영향을 받지 않습니다.
+ * 같은 사용자의 {@link UsageUpdatedEvent}와는 발행한 순서대로 적용되어야 하며, 발행 측은 두 이벤트를 같은 파티션에 순서대로 보냅니다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UsageDeltaEvent {
+    private String eventId;
+    private String eventType;
+    private String userId;
+    private Long dataUsage;
+    private Long callUsage;
+    private Long messageUsage;
+    private LocalDateTime timestamp;
+}
@@ -0,0 +1,111 @@
+package com.telecom.cqrs.common.event;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BinaryEventCodecTest {
+    private static final LocalDateTime TIMESTAMP = LocalDateTime.of(2024, 3, 1, 12, 30, 15, 123_456_789);
+
+    @Test
+    void planEventRoundTrip() {
+        PhonePlanEvent event = PhonePlanEvent.builder()
+                .eventId(UUID.randomUUID().toString())
+                .eventType("PLAN_CHANGED")
+                .userId("user-0001")
+                .planName("5G 프리미엄")
+                .dataAllowance(100)
+                .callMinutes(300)
+                .messageCount(500)
+                .monthlyFee(75000.5)
+                .status("ACTIVE")
+                .timestamp(TIMESTAMP)
+                .build();
+
+        assertEquals(event, BinaryEventCodec.decodePlanEvent(BinaryEventCodec.encode(event)));
+    }
+
+    @Test
+    void planEventRoundTripWithNullFields() {
+        PhonePlanEvent event = PhonePlanEvent.builder()
+                .dataAllowance(-1)
+                .callMinutes(Integer.MIN_VALUE)
+                .messageCount(Integer.MAX_VALUE)
+                .build();
+
+        assertEquals(event, BinaryEventCodec.decodePlanEvent(BinaryEventCodec.encode(event)));
+    }
+
+    @Test
+    void planEventRoundTripWithCustomIdAndType() {
+        PhonePlanEvent event = PhonePlanEvent.builder()
+                .eventId("outbox-42")
+                .eventType("PLAN_MIGRATED")
+                .userId("user-0001")
+                .timestamp(TIMESTAMP)
+                .build();
+
+        assertEquals(event, BinaryEventCodec.decodePlanEvent(BinaryEventCodec.encode(event)));
+    }
+
+    @Test
+    void usageEventRoundTrip() {
+        UsageUpdatedEvent event = UsageUpdatedEvent.builder()
+                .eventId(UUID.randomUUID().toString())
+                .eventType("USAGE_UPDATED")
+                .userId("user-0002")
+                .dataUsage(1L << 40)
+                .callUsage(0L)
+                .messageUsage(-7L)
+                .timestamp(TIMESTAMP)
+                .build();
+
+        assertEquals(event, BinaryEventCodec.decodeUsageEvent(BinaryEventCodec.encode(event)));
+    }
+
+    @Test
+    void usageEventRoundTripWithNullFields() {
+        UsageUpdatedEvent event = UsageUpdatedEvent.builder()
+                .userId("user-0002")
+                .callUsage(Long.MAX_VALUE)
+                .build();
+
+        assertEquals(event, BinaryEventCodec.decodeUsageEvent(BinaryEventCodec.encode(event)));
+        assertEquals(new UsageUpdatedEvent(),
+                BinaryEventCodec.decodeUsageEvent(BinaryEventCodec.encode(new UsageUpdatedEvent())));
+    }
+
+    @Test
+    void usageDeltaEventRoundTrip() {
+        UsageDeltaEvent event = UsageDeltaEvent.builder()
+                .eventId(UUID.randomUUID().toString())
+                .eventType("USAGE_INCREMENTED")
+                .userId("user-0003")
+                .dataUsage(512L)
+                .messageUsage(Long.MIN_VALUE)
+                .timestamp(TIMESTAMP)
+                .build();
+
+        assertEquals(event, BinaryEventCodec.decodeUsageDeltaEvent(BinaryEventCodec.encode(event)));
+    }
+
+    @Test
+    void rejectsMismatchedKind() {
+        byte[] body = BinaryEventCodec.encode(UsageUpdatedEvent.builder().userId("user-0002").build());
+
+        assertThrows(IllegalArgumentException.class, () -> BinaryEventCodec.decodeUsageDeltaEvent(body));
+        assertThrows(IllegalArgumentException.class, () -> BinaryEventCodec.decodePlanEvent(body));
+    }
+
+    @Test
+    void rejectsUnknownFormatVersion() {
+        byte[] body = BinaryEventCodec.encode(UsageUpdatedEvent.builder().userId("user-0002").build());
+        body[0] = (byte) (BinaryEventCodec.FORMAT_VERSION + 1);
+
+        assertThrows(IllegalArgumentException.class, () -> BinaryEventCodec.decodeUsageEvent(body));
+    }
+}
@@ -0,0 +1,141 @@
+package com.telecom.cqrs.common.event;
+
+import com.telecom.cqrs.common.config.JacksonConfig;
+import com.telecom.cqrs.common.constant.EventHubConstants;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * JSON과 {@link BinaryEventCodec}, {@link EventEnvelope}의 처리량과 메시지 크기를 비교하는 벤치마크입니다.
+ * {@code ./gradlew :common:codecBenchmark}로 실행하며, 워밍업 후 측정 구간마다 초당 처리 건수를 출력합니다.
+ */
+public final class EventCodecBenchmark {
+    private static final int EVENTS = 10_000;
+    private static final int ENVELOPE_SIZE = 100;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURE_ROUNDS = 5;
+
+    private final EventCodec codec = new EventCodec(new JacksonConfig().objectMapper());
+    private final List<PhonePlanEvent> planEvents = new ArrayList<>(EVENTS);
+    private final List<UsageUpdatedEvent> usageEvents = new ArrayList<>(EVENTS);
+    // 측정 대상 결과가 최적화로 제거되지 않도록 누적합니다.
+    private long sink;
+
+    private EventCodecBenchmark() {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < EVENTS; i++) {
+            String userId = String.format("user-%06d", i);
+            planEvents.add(PhonePlanEvent.builder()
+                    .eventId(UUID.randomUUID().toString())
+                    .eventType(EventHubConstants.EVENT_TYPE_PLAN)
+                    .userId(userId)
+                    .planName(i % 2 == 0 ? "5G 프리미엄" : "LTE 베이직")
+                    .dataAllowance(100)
+                    .callMinutes(300)
+                    .messageCount(500)
+                    .monthlyFee(55000)
+                    .status("ACTIVE")
+                    .timestamp(now)
+                    .build());
+            usageEvents.add(UsageUpdatedEvent.builder()
+                    .eventId(UUID.randomUUID().toString())
+                    .eventType(EventHubConstants.EVENT_TYPE_USAGE)
+                    .userId(userId)
+                    .dataUsage((long) i * 1024)
+                    .callUsage((long) i % 300)
+                    .messageUsage(i % 3 == 0 ? null : (long) i % 500)
+                    .timestamp(now)
+                    .build());
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        new EventCodecBenchmark().run();
+    }
+
+    private void run() throws IOException {
+        for (String contentType : List.of(EventHubConstants.CONTENT_TYPE_JSON, EventHubConstants.CONTENT_TYPE_BINARY)) {
+            List<byte[]> planBodies = encodeAll(planEvents, contentType);
+            List<byte[]> usageBodies = encodeAll(usageEvents, contentType);
+            System.out.printf("%s: plan %d bytes/event, usage %d bytes/event%n",
+                    contentType, averageSize(planBodies), averageSize(usageBodies));
+
+            measure(contentType + " encode plan", () -> encodeAll(planEvents, contentType));
+            measure(contentType + " decode plan", () -> decodeAll(planBodies, contentType, PhonePlanEvent.class));
+            measure(contentType + " encode usage", () -> encodeAll(usageEvents, contentType));
+            measure(contentType + " decode usage", () -> decodeAll(usageBodies, contentType, UsageUpdatedEvent.class));
+
+            List<byte[]> envelopes = pack(usageBodies, contentType);
+            System.out.printf("%s envelope: %d bytes/event%n",
+                    contentType, averageSize(envelopes) / ENVELOPE_SIZE);
+            measure(contentType + " pack envelope", () -> pack(usageBodies, contentType));
+            measure(contentType + " unpack envelope", () -> {
+                for (byte[] envelope : envelopes) {
+                    sink += codec.decodeAll(envelope, EventHubConstants.CONTENT_TYPE_ENVELOPE, UsageUpdatedEvent.class).size();
+                }
+            });
+        }
+        System.out.println("sink=" + sink);
+    }
+
+    private List<byte[]> encodeAll(List<?> events, String contentType) throws IOException {
+        List<byte[]> bodies = new ArrayList<>(events.size());
+        for (Object event : events) {
+            byte[] body = codec.encode(event, contentType);
+            sink += body.length;
+            bodies.add(body);
+        }
+        return bodies;
+    }
+
+    private void decodeAll(List<byte[]> bodies, String contentType, Class<?> eventClass) throws IOException {
+        for (byte[] body : bodies) {
+            sink += codec.decode(body, contentType, eventClass).hashCode();
+        }
+    }
+
+    private List<byte[]> pack(List<byte[]> bodies, String contentType) {
+        List<byte[]> envelopes = new ArrayList<>(bodies.size() / ENVELOPE_SIZE + 1);
+        for (int from = 0; from < bodies.size(); from += ENVELOPE_SIZE) {
+            List<EventEnvelope.Entry> entries = new ArrayList<>(ENVELOPE_SIZE);
+            for (byte[] body : bodies.subList(from, Math.min(from + ENVELOPE_SIZE, bodies.size()))) {
+                entries.add(new EventEnvelope.Entry(contentType, body));
+            }
+            byte[] envelope = EventEnvelope.pack(entries);
+            sink += envelope.length;
+            envelopes.add(envelope);
+        }
+        return envelopes;
+    }
+
+    private void measure(String name, Task task) throws IOException {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            task.run();
+        }
+        double best = 0;
+        for (int i = 0; i < MEASURE_ROUNDS; i++) {
+            long start = System.nanoTime();
+            task.run();
+            double perSecond = EVENTS * 1_000_000_000.0 / (System.nanoTime() - start);
+            best = Math.max(best, perSecond);
+        }
+        System.out.printf("  %-60s %,12.0f events/s%n", name, best);
+    }
+
+    private static long averageSize(List<byte[]> bodies) {
+        long total = 0;
+        for (byte[] body : bodies) {
+            total += body.length;
+        }
+        return total / bodies.size();
+    }
+
+    @FunctionalInterface
+    private interface Task {
+        void run() throws IOException;
+    }
+}
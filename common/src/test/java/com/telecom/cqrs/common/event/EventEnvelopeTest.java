@@ -0,0 +1,143 @@
+package com.telecom.cqrs.common.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.telecom.cqrs.common.config.JacksonConfig;
+import com.telecom.cqrs.common.constant.EventHubConstants;
+import net.jpountz.lz4.LZ4Factory;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class EventEnvelopeTest {
+    private final ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+    private final EventCodec codec = new EventCodec(objectMapper);
+
+    @Test
+    void packUnpackKeepsOrderAndContentTypes() {
+        List<EventEnvelope.Entry> entries = List.of(
+                new EventEnvelope.Entry(EventHubConstants.CONTENT_TYPE_BINARY, new byte[]{1, 2, 3}),
+                new EventEnvelope.Entry(EventHubConstants.CONTENT_TYPE_JSON, "{\"userId\":\"u\"}".getBytes()),
+                new EventEnvelope.Entry(EventHubConstants.CONTENT_TYPE_BINARY, new byte[0]));
+
+        List<EventEnvelope.Entry> unpacked = EventEnvelope.unpack(EventEnvelope.pack(entries));
+
+        assertEquals(entries.size(), unpacked.size());
+        for (int i = 0; i < entries.size(); i++) {
+            assertEquals(entries.get(i).contentType(), unpacked.get(i).contentType());
+            assertArrayEquals(entries.get(i).payload(), unpacked.get(i).payload());
+        }
+    }
+
+    @Test
+    void missingContentTypeIsPackedAsJson() {
+        List<EventEnvelope.Entry> unpacked = EventEnvelope.unpack(
+                EventEnvelope.pack(List.of(new EventEnvelope.Entry(null, new byte[]{42}))));
+
+        assertEquals(EventHubConstants.CONTENT_TYPE_JSON, unpacked.get(0).contentType());
+    }
+
+    @Test
+    void emptyEnvelopeRoundTrip() {
+        assertEquals(List.of(), EventEnvelope.unpack(EventEnvelope.pack(List.of())));
+    }
+
+    @Test
+    void rejectsUnknownFormatVersion() {
+        byte[] body = EventEnvelope.pack(List.of(new EventEnvelope.Entry(null, new byte[]{42})));
+        body[0] = (byte) (EventEnvelope.FORMAT_VERSION + 1);
+
+        assertThrows(IllegalArgumentException.class, () -> EventEnvelope.unpack(body));
+    }
+
+    @Test
+    void decodeAllReadsMixedEntriesInOrder() throws IOException {
+        List<UsageUpdatedEvent> events = new ArrayList<>();
+        List<EventEnvelope.Entry> entries = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            UsageUpdatedEvent event = UsageUpdatedEvent.builder()
+                    .eventId("event-" + i)
+                    .eventType(EventHubConstants.EVENT_TYPE_USAGE)
+                    .userId("user-" + (i % 7))
+                    .dataUsage(i % 3 == 0 ? null : (long) i * 1024)
+                    .callUsage((long) i)
+                    .timestamp(LocalDateTime.of(2024, 3, 1, 0, 0).plusSeconds(i))
+                    .build();
+            String contentType = i % 2 == 0 ? EventHubConstants.CONTENT_TYPE_BINARY : EventHubConstants.CONTENT_TYPE_JSON;
+            events.add(event);
+            entries.add(new EventEnvelope.Entry(contentType, codec.encode(event, contentType)));
+        }
+
+        List<UsageUpdatedEvent> decoded = codec.decodeAll(
+                EventEnvelope.pack(entries), EventHubConstants.CONTENT_TYPE_ENVELOPE, UsageUpdatedEvent.class);
+
+        assertEquals(events, decoded);
+    }
+
+    @Test
+    void decodeAllWrapsCorruptEnvelope() {
+        byte[] body = EventEnvelope.pack(List.of(new EventEnvelope.Entry(null, new byte[]{42})));
+        // 헤더만 남기고 압축 블록을 잘라냅니다.
+        byte[] truncated = Arrays.copyOf(body, 1 + Integer.BYTES);
+
+        assertThrows(IOException.class, () ->
+                codec.decodeAll(truncated, EventHubConstants.CONTENT_TYPE_ENVELOPE, UsageUpdatedEvent.class));
+    }
+
+    @Test
+    void rejectsHostileUncompressedLength() {
+        byte[] body = EventEnvelope.pack(List.of(new EventEnvelope.Entry(null, new byte[]{42})));
+
+        ByteBuffer.wrap(body).putInt(1, -1);
+        assertThrows(IllegalArgumentException.class, () -> EventEnvelope.unpack(body));
+
+        ByteBuffer.wrap(body).putInt(1, Integer.MAX_VALUE);
+        assertThrows(IllegalArgumentException.class, () -> EventEnvelope.unpack(body));
+    }
+
+    @Test
+    void rejectsMismatchedUncompressedLength() {
+        byte[] body = EventEnvelope.pack(List.of(new EventEnvelope.Entry(null, new byte[64])));
+        int length = ByteBuffer.wrap(body).getInt(1);
+
+        ByteBuffer.wrap(body).putInt(1, length + 1);
+        assertThrows(RuntimeException.class, () -> EventEnvelope.unpack(body));
+    }
+
+    @Test
+    void rejectsHostileEntryCountAndLength() {
+        // 항목 수가 남은 바이트보다 큰 경우
+        assertThrows(IllegalArgumentException.class, () -> EventEnvelope.unpack(envelopeOf(
+                new byte[]{(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07, 0, 0})));
+        // 항목 길이가 남은 바이트보다 큰 경우
+        assertThrows(IllegalArgumentException.class, () -> EventEnvelope.unpack(envelopeOf(
+                new byte[]{1, 0, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07})));
+    }
+
+    @Test
+    void rejectsGarbageBlock() {
+        byte[] body = new byte[64];
+        Arrays.fill(body, (byte) 0xFF);
+        body[0] = (byte) EventEnvelope.FORMAT_VERSION;
+        ByteBuffer.wrap(body).putInt(1, 1024);
+
+        assertThrows(RuntimeException.class, () -> EventEnvelope.unpack(body));
+    }
+
+    private static byte[] envelopeOf(byte[] raw) {
+        byte[] compressed = LZ4Factory.fastestInstance().fastCompressor().compress(raw);
+        return ByteBuffer.allocate(1 + Integer.BYTES + compressed.length)
+                .put((byte) EventEnvelope.FORMAT_VERSION)
+                .putInt(raw.length)
+                .put(compressed)
+                .array();
+    }
+}
@@ -8,6 +8,7 @@ import com.azure.storage.blob.BlobServiceClientBuilder;
 import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.EnableRetry;
@@ -15,6 +16,7 @@ import org.springframework.retry.annotation.Retryable;
 
 @Slf4j
 @Configuration
+@ConditionalOnProperty(name = "eventhub.checkpoint-store", havingValue = "blob", matchIfMissing = true)
 @EnableRetry
 public class BlobStorageConfig {
 
@@ -1,9 +1,11 @@
 package com.telecom.cqrs.query.config;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
 @Component
+@ConditionalOnProperty(name = "eventhub.checkpoint-store", havingValue = "blob", matchIfMissing = true)
 public class BlobStorageContainers {
     @Value("${BLOB_CONTAINER}")
     private String containerName;
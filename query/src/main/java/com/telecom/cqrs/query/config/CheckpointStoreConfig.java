@@ -0,0 +1,48 @@
+package com.telecom.cqrs.query.config;
+
+import com.azure.messaging.eventhubs.CheckpointStore;
+import com.azure.messaging.eventhubs.checkpointstore.blob.BlobCheckpointStore;
+import com.telecom.cqrs.query.event.MongoCheckpointStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.MongoTransactionManager;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+/**
+ * 이벤트 프로세서가 사용할 체크포인트 저장소를 설정합니다.
+ *
+ * <p>{@code eventhub.checkpoint-store}가 {@code blob}(기본값)이면 Azure Blob Storage를,
+ * {@code mongo}면 조회 모델과 같은 MongoDB를 사용합니다. mongo 모드에서는 조회 모델 반영과 체크포인트를
+ * 하나의 트랜잭션으로 커밋하므로 MongoDB가 replica set으로 구성되어 있어야 합니다.</p>
+ */
+@Slf4j
+@Configuration
+public class CheckpointStoreConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "eventhub.checkpoint-store", havingValue = "blob", matchIfMissing = true)
+    public CheckpointStore blobCheckpointStore(BlobStorageConfig blobStorageConfig,
+                                               BlobStorageContainers containers) {
+        log.info("Using blob checkpoint store: container={}", containers.getUsageContainer());
+        return new BlobCheckpointStore(
+                blobStorageConfig.getBlobContainerAsyncClient(containers.getUsageContainer()));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "eventhub.checkpoint-store", havingValue = "mongo")
+    public MongoCheckpointStore mongoCheckpointStore(MongoTemplate mongoTemplate) {
+        log.info("Using MongoDB checkpoint store");
+        MongoCheckpointStore store = new MongoCheckpointStore(mongoTemplate);
+        store.initialize();
+        return store;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "eventhub.checkpoint-store", havingValue = "mongo")
+    public MongoTransactionManager mongoTransactionManager(MongoDatabaseFactory mongoDatabaseFactory) {
+        return new MongoTransactionManager(mongoDatabaseFactory);
+    }
+}
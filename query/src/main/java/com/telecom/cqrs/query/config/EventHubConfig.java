@@ -1,18 +1,26 @@
 package com.telecom.cqrs.query.config;
 
+import com.azure.messaging.eventhubs.CheckpointStore;
 import com.azure.messaging.eventhubs.EventProcessorClient;
 import com.azure.messaging.eventhubs.EventProcessorClientBuilder;
-import com.azure.messaging.eventhubs.checkpointstore.blob.BlobCheckpointStore;
+import com.azure.messaging.eventhubs.models.PartitionContext;
+import com.telecom.cqrs.query.event.CheckpointCoordinator;
+import com.telecom.cqrs.query.event.KeyOrderedDispatcher;
 import com.telecom.cqrs.query.event.PhonePlanEventHandler;
 import com.telecom.cqrs.query.event.UsageEventHandler;
+import com.telecom.cqrs.query.service.ProjectionSnapshotService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
 import jakarta.annotation.PostConstruct;
 
+import java.time.Duration;
+
 @Slf4j
 @Configuration
+@DependsOn("mongoIndexConfig")
 public class EventHubConfig {
     @Value("${EVENT_HUB_PLAN_CONNECTION_STRING}")
     private String planConnectionString;
@@ -26,20 +34,28 @@ public class EventHubConfig {
     @Value("${EVENT_HUB_USAGE_NAME}")
     private String usageHubName;
 
-    @Value("${BLOB_CONTAINER}")
-    private String blobContainer;
-
-    private final BlobStorageConfig blobStorageConfig;
+    private final CheckpointStore checkpointStore;
+    private final EventHubProperties eventHubProperties;
     private final UsageEventHandler usageEventHandler;
     private final PhonePlanEventHandler planEventHandler;
+    private final CheckpointCoordinator checkpointCoordinator;
+    private final KeyOrderedDispatcher keyOrderedDispatcher;
 
     public EventHubConfig(
-            BlobStorageConfig blobStorageConfig,
+            CheckpointStore checkpointStore,
+            EventHubProperties eventHubProperties,
             UsageEventHandler usageEventHandler,
-            PhonePlanEventHandler planEventHandler) {
-        this.blobStorageConfig = blobStorageConfig;
+            PhonePlanEventHandler planEventHandler,
+            CheckpointCoordinator checkpointCoordinator,
+            KeyOrderedDispatcher keyOrderedDispatcher,
+            ProjectionSnapshotService projectionSnapshotService) {
+        // 메모리 조회 저장소를 스냅샷에서 복원했다면 스냅샷 위치부터 소비합니다.
+        this.checkpointStore = projectionSnapshotService.resumeFrom(checkpointStore);
+        this.eventHubProperties = eventHubProperties;
         this.usageEventHandler = usageEventHandler;
         this.planEventHandler = planEventHandler;
+        this.checkpointCoordinator = checkpointCoordinator;
+        this.keyOrderedDispatcher = keyOrderedDispatcher;
     }
 
     @PostConstruct
@@ -49,7 +65,7 @@ public class EventHubConfig {
         validateConnectionString("usageConnectionString", usageConnectionString);
         validateNotEmpty("planHubName", planHubName);
         validateNotEmpty("usageHubName", usageHubName);
-        validateNotEmpty("blobContainer", blobContainer);
+        validateProcessingMode();
         log.info("Event Hub configuration validated successfully");
     }
 
@@ -62,6 +78,18 @@ public class EventHubConfig {
         }
     }
 
+    /**
+     * key-ordered 모드는 레인 작업이 끝난 뒤 {@code CheckpointCoordinator}를 통해 체크포인트하므로
+     * mongo 체크포인트 저장소의 반영·체크포인트 원자적 커밋을 사용할 수 없습니다. 조용히 보장이 약해지지 않도록 시작 시 거부합니다.
+     */
+    private void validateProcessingMode() {
+        if (isKeyOrdered() && "mongo".equalsIgnoreCase(eventHubProperties.getCheckpointStore())) {
+            throw new IllegalStateException(
+                    "Event Hub configuration error: processing-mode=key-ordered cannot commit checkpoints atomically "
+                            + "with the projection; use processing-mode=sequential or checkpoint-store=blob");
+        }
+    }
+
     private void validateNotEmpty(String name, String value) {
         if (value == null || value.trim().isEmpty()) {
             throw new IllegalStateException(
@@ -71,19 +99,25 @@ public class EventHubConfig {
 
     @Bean
     public EventProcessorClient usageEventProcessor() {
-        log.info("Creating usage event processor with hub: {}, container: {}",
-                usageHubName, blobContainer);
-
-        var blobClient = blobStorageConfig
-                .getBlobContainerAsyncClient(blobContainer);
+        log.info("Creating usage event processor with hub: {}, checkpoint store: {}",
+                usageHubName, eventHubProperties.getCheckpointStore());
 
-        EventProcessorClient client = new EventProcessorClientBuilder()
+        EventProcessorClientBuilder builder = new EventProcessorClientBuilder()
                 .connectionString(usageConnectionString, usageHubName)
                 .consumerGroup("$Default")
-                .checkpointStore(new BlobCheckpointStore(blobClient))
-                .processEvent(usageEventHandler)
+                .checkpointStore(checkpointStore)
                 .processError(usageEventHandler::processError)
-                .buildEventProcessorClient();
+                .processPartitionClose(context -> closePartition(context.getPartitionContext()));
+        if (isKeyOrdered()) {
+            builder.processEventBatch(usageEventHandler::dispatchBatch,
+                    Math.max(1, eventHubProperties.getBatchSize()), getMaxWaitTime());
+        } else if (isBatchReceive()) {
+            builder.processEventBatch(usageEventHandler::acceptBatch,
+                    eventHubProperties.getBatchSize(), getMaxWaitTime());
+        } else {
+            builder.processEvent(usageEventHandler);
+        }
+        EventProcessorClient client = builder.buildEventProcessorClient();
 
         usageEventHandler.setEventProcessorClient(client);
         return client;
@@ -91,21 +125,49 @@ public class EventHubConfig {
 
     @Bean
     public EventProcessorClient planEventProcessor() {
-        log.info("Creating plan event processor with hub: {}, container: {}",
-                planHubName, blobContainer);
-
-        var blobClient = blobStorageConfig
-                .getBlobContainerAsyncClient(blobContainer);
+        log.info("Creating plan event processor with hub: {}, checkpoint store: {}",
+                planHubName, eventHubProperties.getCheckpointStore());
 
-        EventProcessorClient client = new EventProcessorClientBuilder()
+        EventProcessorClientBuilder builder = new EventProcessorClientBuilder()
                 .connectionString(planConnectionString, planHubName)
                 .consumerGroup("$Default")
-                .checkpointStore(new BlobCheckpointStore(blobClient))
-                .processEvent(planEventHandler)
+                .checkpointStore(checkpointStore)
                 .processError(planEventHandler::processError)
-                .buildEventProcessorClient();
+                .processPartitionClose(context -> closePartition(context.getPartitionContext()));
+        if (isKeyOrdered()) {
+            builder.processEventBatch(planEventHandler::dispatchBatch,
+                    Math.max(1, eventHubProperties.getBatchSize()), getMaxWaitTime());
+        } else if (isBatchReceive()) {
+            builder.processEventBatch(planEventHandler::acceptBatch,
+                    eventHubProperties.getBatchSize(), getMaxWaitTime());
+        } else {
+            builder.processEvent(planEventHandler);
+        }
+        EventProcessorClient client = builder.buildEventProcessorClient();
 
         planEventHandler.setEventProcessorClient(client);
         return client;
     }
+
+    private void closePartition(PartitionContext partitionContext) {
+        keyOrderedDispatcher.close(partitionContext);
+        checkpointCoordinator.close(partitionContext);
+    }
+
+    private boolean isKeyOrdered() {
+        return "key-ordered".equalsIgnoreCase(eventHubProperties.getProcessingMode());
+    }
+
+    /**
+     * batch-size가 1보다 크면 배치 수신을 사용하고, 1 이하면 이벤트 단위로 처리합니다.
+     */
+    private boolean isBatchReceive() {
+        Integer batchSize = eventHubProperties.getBatchSize();
+        return batchSize != null && batchSize > 1;
+    }
+
+    private Duration getMaxWaitTime() {
+        Long maxWaitTime = eventHubProperties.getMaxWaitTime();
+        return maxWaitTime != null && maxWaitTime > 0 ? Duration.ofMillis(maxWaitTime) : null;
+    }
 }
@@ -15,5 +15,14 @@ public class EventHubProperties {
     private String planConsumerGroup;
     private String usageConsumerGroup;
     private Integer batchSize = 100;
+    private Long maxWaitTime = 1000L; // 배치 수신 최대 대기 시간(ms)
     private Long checkpointInterval = 5000L; // 5초
+    private Integer checkpointEventCount = 1000; // 이 수만큼 처리하면 주기와 관계없이 체크포인트
+    private String processingMode = "sequential"; // sequential 또는 key-ordered
+    private Integer workerLanes; // key-ordered 모드의 레인 수, 없으면 CPU 코어 수
+    private Integer laneQueueCapacity = 1000; // 레인별 대기 작업 수
+    private String checkpointStore = "blob"; // blob 또는 mongo
+    private Long deadLetterRetryInterval = 10000L; // 보류 이벤트 재처리 주기(ms)
+    private Integer deadLetterMaxAttempts = 10; // 이 횟수를 넘기면 관리 API로만 재처리
+    private Long deadLetterMaxBackoff = 600000L; // 재시도 간격 상한(ms)
 }
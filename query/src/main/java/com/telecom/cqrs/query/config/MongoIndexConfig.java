@@ -0,0 +1,84 @@
+package com.telecom.cqrs.query.config;
+
+import com.telecom.cqrs.query.domain.ParkedEvent;
+import com.telecom.cqrs.query.domain.PhonePlanView;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+
+/**
+ * 조회 모델에 필요한 MongoDB 인덱스를 생성합니다.
+ * 이벤트 프로젝션은 userId 기준 upsert를 사용하므로 userId 고유 인덱스가 있어야 중복 도큐먼트가 생기지 않습니다.
+ * 단건 조회, 일괄 조회와 전체 내보내기는 응답 필드와 버전을 모두 담은 복합 인덱스로 도큐먼트를 읽지 않고 처리합니다.
+ * 조건을 준 내보내기는 조건 필드 뒤에 userId를 둔 인덱스로 정렬 없이 userId 순서를 유지합니다.
+ * 등치 조건 필드가 모두 userId 앞에 있어야 인덱스 순서로 정렬되므로, planName과 status 조합마다 인덱스를 하나씩 둡니다.
+ * 보류 이벤트는 사용자별로 조회하므로 userId 인덱스를 둡니다.
+ */
+@Slf4j
+@Configuration
+public class MongoIndexConfig {
+    private final MongoTemplate mongoTemplate;
+
+    public MongoIndexConfig(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @PostConstruct
+    public void createIndexes() {
+        try {
+            String name = mongoTemplate.indexOps(PhonePlanView.class)
+                    .ensureIndex(new Index().on("userId", Sort.Direction.ASC).unique());
+            log.info("MongoDB index ensured: {}", name);
+            String coveringName = mongoTemplate.indexOps(PhonePlanView.class)
+                    .ensureIndex(new Index().on("userId", Sort.Direction.ASC)
+                            .on("planName", Sort.Direction.ASC)
+                            .on("dataAllowance", Sort.Direction.ASC)
+                            .on("callMinutes", Sort.Direction.ASC)
+                            .on("messageCount", Sort.Direction.ASC)
+                            .on("monthlyFee", Sort.Direction.ASC)
+                            .on("dataUsage", Sort.Direction.ASC)
+                            .on("callUsage", Sort.Direction.ASC)
+                            .on("messageUsage", Sort.Direction.ASC)
+                            .on("version", Sort.Direction.ASC)
+                            .named("phone_plan_query_covering_v2"));
+            log.info("MongoDB index ensured: {}", coveringName);
+            dropIndexIfExists("phone_plan_query_covering");
+            String exportName = mongoTemplate.indexOps(PhonePlanView.class)
+                    .ensureIndex(new Index().on("planName", Sort.Direction.ASC)
+                            .on("status", Sort.Direction.ASC)
+                            .on("userId", Sort.Direction.ASC)
+                            .named("phone_plan_export_filter"));
+            log.info("MongoDB index ensured: {}", exportName);
+            String exportPlanName = mongoTemplate.indexOps(PhonePlanView.class)
+                    .ensureIndex(new Index().on("planName", Sort.Direction.ASC)
+                            .on("userId", Sort.Direction.ASC)
+                            .named("phone_plan_export_plan"));
+            log.info("MongoDB index ensured: {}", exportPlanName);
+            String exportStatusName = mongoTemplate.indexOps(PhonePlanView.class)
+                    .ensureIndex(new Index().on("status", Sort.Direction.ASC)
+                            .on("userId", Sort.Direction.ASC)
+                            .named("phone_plan_export_status"));
+            log.info("MongoDB index ensured: {}", exportStatusName);
+            String parkedName = mongoTemplate.indexOps(ParkedEvent.class)
+                    .ensureIndex(new Index().on("userId", Sort.Direction.ASC).on("_id", Sort.Direction.ASC));
+            log.info("MongoDB index ensured: {}", parkedName);
+        } catch (Exception e) {
+            log.warn("Failed to create MongoDB indexes: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 더 이상 사용하지 않는 인덱스를 제거합니다. 없으면 무시합니다.
+     */
+    private void dropIndexIfExists(String name) {
+        boolean exists = mongoTemplate.indexOps(PhonePlanView.class).getIndexInfo().stream()
+                .anyMatch(index -> name.equals(index.getName()));
+        if (exists) {
+            mongoTemplate.indexOps(PhonePlanView.class).dropIndex(name);
+            log.info("MongoDB index dropped: {}", name);
+        }
+    }
+}
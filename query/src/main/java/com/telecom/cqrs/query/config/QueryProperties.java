@@ -0,0 +1,23 @@
+package com.telecom.cqrs.query.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "query")
+@Getter @Setter
+public class QueryProperties {
+    private String servingMode = "mongo"; // mongo 또는 memory(조회 모델 전체를 오프힙 메모리에서 조회)
+    private String snapshotPath = ""; // 메모리 조회 모드의 스냅샷 파일 경로, 비어 있으면 스냅샷을 사용하지 않음
+    private Long snapshotInterval = 300000L; // 스냅샷 기록 주기(ms)
+    private Long snapshotMaxAge = 3600000L; // 이보다 오래된 스냅샷은 사용하지 않음(ms), Event Hub 보존 기간보다 짧아야 함
+    private boolean cacheEnabled = true; // 요금제 조회 캐시 사용 여부
+    private Long cacheMaximumSize = 100000L; // 캐시에 둘 최대 사용자 수
+    private Long cacheMaximumWeight = 0L; // 캐시 메모리 상한(바이트), 0보다 크면 사용자 수 대신 적용
+    private Long cacheExpireAfterWrite = 60000L; // 다른 인스턴스가 반영한 변경을 받아들이는 최대 지연(ms)
+    private Integer batchMaxSize = 5000; // 일괄 조회 한 번에 허용하는 사용자 수
+    private Integer exportBatchSize = 2000; // 내보내기 커서가 한 번에 가져오는 도큐먼트 수
+    private Long coalescingTimeout = 2000L; // 진행 중인 같은 사용자 조회를 기다리는 최대 시간(ms)
+}
@@ -0,0 +1,20 @@
+package com.telecom.cqrs.query.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 리액티브 조회 모드({@code spring.main.web-application-type=reactive})의 서버 설정입니다.
+ * 서블릿 모드를 위해 Tomcat도 클래스패스에 있으므로, 리액티브 모드에서는 Netty를 사용하도록 직접 지정합니다.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveServerConfig {
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
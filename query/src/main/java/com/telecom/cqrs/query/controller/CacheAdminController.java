@@ -0,0 +1,46 @@
+package com.telecom.cqrs.query.controller;
+
+import com.telecom.cqrs.query.dto.CacheStatsResponse;
+import com.telecom.cqrs.query.metrics.PhonePlanCacheMetrics;
+import com.telecom.cqrs.query.metrics.RequestCoalescingMetrics;
+import com.telecom.cqrs.query.service.PhonePlanViewCache;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 요금제 조회 캐시 상태를 제공하는 컨트롤러입니다.
+ */
+@RestController
+@RequestMapping("/api/admin/cache")
+@RequiredArgsConstructor
+@Tag(name = "조회 캐시 관리 API", description = "요금제 조회 캐시의 적중률과 제거 현황을 제공합니다.")
+public class CacheAdminController {
+    private final PhonePlanViewCache phonePlanViewCache;
+    private final PhonePlanCacheMetrics metrics;
+    private final RequestCoalescingMetrics coalescingMetrics;
+
+    /**
+     * 요금제 조회 캐시 통계를 조회합니다.
+     *
+     * @return 캐시 통계
+     */
+    @Operation(summary = "캐시 통계 조회", description = "요금제 조회 캐시의 적중률, 제거 건수, 적재 시간과 합쳐진 조회 수를 조회합니다.")
+    @GetMapping("/stats")
+    public ResponseEntity<CacheStatsResponse> getStats() {
+        return ResponseEntity.ok(CacheStatsResponse.builder()
+                .size(phonePlanViewCache.size())
+                .hits(metrics.getHits().get())
+                .misses(metrics.getMisses().get())
+                .hitRatio(metrics.getHitRatio())
+                .averageLoadNanos(metrics.getAverageLoadNanos())
+                .evictions(metrics.getEvictions().get())
+                .writeThroughs(metrics.getWriteThroughs().get())
+                .invalidations(metrics.getInvalidations().get())
+                .coalescedRequests(coalescingMetrics.getCoalescedRequests().get())
+                .coalescingTimeouts(coalescingMetrics.getTimeouts().get())
+                .build());
+    }
+}
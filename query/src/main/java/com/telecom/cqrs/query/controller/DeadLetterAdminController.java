@@ -0,0 +1,103 @@
+package com.telecom.cqrs.query.controller;
+
+import com.telecom.cqrs.query.domain.ParkedEvent;
+import com.telecom.cqrs.query.dto.DeadLetterReplayResponse;
+import com.telecom.cqrs.query.dto.ParkedEventResponse;
+import com.telecom.cqrs.query.repository.ParkedEventRepository;
+import com.telecom.cqrs.query.service.DeadLetterService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * 보류(dead-letter) 이벤트 조회와 재처리 API를 제공하는 컨트롤러입니다.
+ * MongoDB를 블로킹으로 조회하고 갱신하므로, 리액티브 모드에서도 이벤트 루프를 막지 않도록 boundedElastic 스케줄러에서 실행합니다.
+ * 서블릿 모드에서는 같은 {@link Mono} 반환 값을 비동기 요청으로 처리합니다.
+ */
+@RestController
+@RequestMapping("/api/admin/dead-letters")
+@RequiredArgsConstructor
+@Tag(name = "보류 이벤트 관리 API", description = "조회 모델에 반영하지 못한 이벤트를 조회하고 재처리합니다.")
+public class DeadLetterAdminController {
+    private final ParkedEventRepository parkedEventRepository;
+    private final DeadLetterService deadLetterService;
+
+    /**
+     * 보류 이벤트를 보류된 순서대로 조회합니다.
+     *
+     * @param page 페이지 번호
+     * @param size 페이지 크기
+     * @return 보류 이벤트 목록
+     */
+    @Operation(summary = "보류 이벤트 조회", description = "보류된 이벤트를 보류된 순서대로 조회합니다.")
+    @GetMapping
+    public Mono<ResponseEntity<List<ParkedEventResponse>>> getParkedEvents(
+            @Parameter(description = "페이지 번호", example = "0")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "페이지 크기", example = "50")
+            @RequestParam(defaultValue = "50") int size
+    ) {
+        return blocking(() -> ResponseEntity.ok(parkedEventRepository
+                .findAll(PageRequest.of(page, size, Sort.by("id")))
+                .map(this::toResponse)
+                .getContent()));
+    }
+
+    /**
+     * 보류 이벤트 하나를 즉시 재처리합니다.
+     *
+     * @param id 보류 이벤트 ID
+     * @return 재처리 결과
+     */
+    @Operation(summary = "보류 이벤트 재처리", description = "보류 이벤트 하나를 재시도 횟수와 관계없이 즉시 재처리합니다.")
+    @PostMapping("/{id}/replay")
+    public Mono<ResponseEntity<DeadLetterReplayResponse>> replay(
+            @Parameter(description = "보류 이벤트 ID")
+            @PathVariable String id
+    ) {
+        return blocking(() -> {
+            if (!parkedEventRepository.existsById(id)) {
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.ok(deadLetterService.replay(id));
+        });
+    }
+
+    /**
+     * 모든 보류 이벤트를 사용자별로 보류된 순서대로 재처리합니다.
+     *
+     * @return 재처리 결과
+     */
+    @Operation(summary = "전체 보류 이벤트 재처리", description = "모든 보류 이벤트를 사용자별 순서대로 즉시 재처리합니다.")
+    @PostMapping("/replay")
+    public Mono<ResponseEntity<DeadLetterReplayResponse>> replayAll() {
+        return blocking(() -> ResponseEntity.ok(deadLetterService.replayAll()));
+    }
+
+    private <T> Mono<T> blocking(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private ParkedEventResponse toResponse(ParkedEvent parked) {
+        ParkedEventResponse response = new ParkedEventResponse();
+        response.setId(parked.getId());
+        response.setEventType(parked.getEventType());
+        response.setUserId(parked.getUserId());
+        response.setReason(parked.getReason());
+        response.setLastError(parked.getLastError());
+        response.setAttempts(parked.getAttempts());
+        response.setParkedAt(parked.getParkedAt());
+        response.setNextAttemptAt(parked.getNextAttemptAt());
+        return response;
+    }
+}
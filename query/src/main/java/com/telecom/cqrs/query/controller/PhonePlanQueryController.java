@@ -1,37 +1,127 @@
 package com.telecom.cqrs.query.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.telecom.cqrs.query.dto.PhonePlanBatchQueryRequest;
+import com.telecom.cqrs.query.dto.PhonePlanBatchQueryResponse;
 import com.telecom.cqrs.query.dto.PhonePlanQueryResponse;
+import com.telecom.cqrs.query.service.PhonePlanExportService;
 import com.telecom.cqrs.query.service.PhonePlanQueryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
 
 /**
  * 요금제 조회 API를 제공하는 컨트롤러입니다.
+ * 리액티브 조회 모드에서는 {@link ReactivePhonePlanQueryController}가 대신 처리합니다.
  */
 @RestController
 @RequestMapping("/api/plans/query")
 @RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @Tag(name = "사용 현황 조회 API", description = "사용 현황을 제공합니다.")
 public class PhonePlanQueryController {
     private final PhonePlanQueryService phonePlanQueryService;
+    private final PhonePlanExportService phonePlanExportService;
+    private final ObjectMapper objectMapper;
 
     /**
      * 사용자의 요금제 정보를 조회합니다.
+     * 응답에 ETag를 붙이며, If-None-Match가 같으면 본문 없이 304로 응답합니다.
      *
      * @param userId 조회할 사용자 ID
      * @return 요금제 정보 응답
      */
-    @Operation(summary = "사용 현황 조회", description = "사용자의 사용 현황을 조회합니다.")
+    @Operation(summary = "사용 현황 조회",
+            description = "사용자의 사용 현황을 조회합니다. If-None-Match가 현재 ETag와 같으면 304를 반환합니다.")
     @GetMapping("/{userId}")
     public ResponseEntity<PhonePlanQueryResponse> getPhonePlan(
             @Parameter(description = "사용자 ID", example = "user123")
             @PathVariable String userId
     ) {
         PhonePlanQueryResponse response = phonePlanQueryService.getPhonePlan(userId);
-        return response != null ? ResponseEntity.ok(response) : ResponseEntity.notFound().build();
+        return response != null
+                ? ResponseEntity.ok().eTag(response.eTag()).body(response)
+                : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * 여러 사용자의 요금제 정보를 한 번에 조회합니다.
+     * 조회된 요금제는 찾는 대로 스트리밍하고, 조회 모델이 없는 사용자 ID는 마지막에 따로 반환합니다.
+     *
+     * @param request 조회할 사용자 ID 목록
+     * @return 요금제 정보 목록과 조회 모델이 없는 사용자 ID
+     */
+    @Operation(summary = "사용 현황 일괄 조회", description = "여러 사용자의 사용 현황을 한 번에 조회합니다.",
+            responses = @ApiResponse(responseCode = "200",
+                    content = @Content(schema = @Schema(implementation = PhonePlanBatchQueryResponse.class))))
+    @PostMapping(value = "/batch", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> getPhonePlans(
+            @RequestBody PhonePlanBatchQueryRequest request
+    ) {
+        List<String> userIds = request.getUserIds();
+        phonePlanQueryService.validateBatch(userIds);
+
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.writeStartObject();
+                generator.writeArrayFieldStart("plans");
+                List<String> missing = phonePlanQueryService.findPhonePlans(userIds, plan -> {
+                    try {
+                        generator.writeObject(plan);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+                generator.writeArrayFieldStart("missingUserIds");
+                for (String userId : missing) {
+                    generator.writeString(userId);
+                }
+                generator.writeEndArray();
+                generator.writeEndObject();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    /**
+     * 조회 모델 전체를 userId 순서의 NDJSON으로 내보냅니다.
+     * 중단된 경우 마지막으로 받은 줄의 userId를 after로 전달해 이어서 받을 수 있습니다.
+     *
+     * @param planName 요금제명 조건
+     * @param status 상태 조건
+     * @param after 이 userId 다음부터 내보냄
+     * @param limit 최대 건수
+     * @return 한 줄에 하나의 요금제 정보
+     */
+    @Operation(summary = "사용 현황 내보내기",
+            description = "전체 사용 현황을 userId 순서의 NDJSON으로 스트리밍합니다.")
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportPhonePlans(
+            @Parameter(description = "요금제명 조건", example = "5G 프리미엄")
+            @RequestParam(required = false) String planName,
+            @Parameter(description = "상태 조건", example = "ACTIVE")
+            @RequestParam(required = false) String status,
+            @Parameter(description = "이어받기 위치(마지막으로 받은 userId)", example = "user123")
+            @RequestParam(required = false) String after,
+            @Parameter(description = "최대 건수, 0이면 제한 없음", example = "0")
+            @RequestParam(defaultValue = "0") long limit
+    ) {
+        StreamingResponseBody body = out -> phonePlanExportService.export(planName, status, after, limit, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
-}
\ No newline at end of file
+}
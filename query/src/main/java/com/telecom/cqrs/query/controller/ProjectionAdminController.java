@@ -0,0 +1,44 @@
+package com.telecom.cqrs.query.controller;
+
+import com.telecom.cqrs.query.config.QueryProperties;
+import com.telecom.cqrs.query.dto.ProjectionStatsResponse;
+import com.telecom.cqrs.query.metrics.PhonePlanCacheMetrics;
+import com.telecom.cqrs.query.metrics.ProjectionStoreMetrics;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 메모리 조회 저장소 상태를 제공하는 컨트롤러입니다.
+ */
+@RestController
+@RequestMapping("/api/admin/projection")
+@RequiredArgsConstructor
+@Tag(name = "조회 저장소 관리 API", description = "메모리 조회 저장소의 메모리 사용량과 조회 지연 시간을 제공합니다.")
+public class ProjectionAdminController {
+    private final QueryProperties queryProperties;
+    private final ProjectionStoreMetrics metrics;
+    private final PhonePlanCacheMetrics cacheMetrics;
+
+    /**
+     * 메모리 조회 저장소 통계를 MongoDB 조회 지연 시간과 함께 조회합니다.
+     *
+     * @return 저장소 통계
+     */
+    @Operation(summary = "조회 저장소 통계 조회", description = "구독자당 메모리 사용량과 메모리/MongoDB 조회 지연 시간을 조회합니다.")
+    @GetMapping("/stats")
+    public ResponseEntity<ProjectionStatsResponse> getStats() {
+        return ResponseEntity.ok(ProjectionStatsResponse.builder()
+                .servingMode(queryProperties.getServingMode())
+                .subscribers(metrics.getSubscribers().get())
+                .planNames(metrics.getPlanNames().get())
+                .offHeapBytes(metrics.getOffHeapBytes().get())
+                .indexBytes(metrics.getIndexBytes().get())
+                .bytesPerSubscriber(metrics.getBytesPerSubscriber())
+                .averageReadNanos(metrics.getAverageReadNanos())
+                .averageMongoLoadNanos(cacheMetrics.getAverageLoadNanos())
+                .build());
+    }
+}
@@ -0,0 +1,89 @@
+package com.telecom.cqrs.query.controller;
+
+import com.telecom.cqrs.query.dto.PhonePlanBatchQueryRequest;
+import com.telecom.cqrs.query.dto.PhonePlanBatchQueryResponse;
+import com.telecom.cqrs.query.dto.PhonePlanQueryResponse;
+import com.telecom.cqrs.query.service.ReactivePhonePlanQueryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 리액티브 조회 모드의 요금제 조회 API입니다. {@link PhonePlanQueryController}와 같은 경로와 응답 형식을 제공합니다.
+ */
+@RestController
+@RequestMapping("/api/plans/query")
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Tag(name = "사용 현황 조회 API", description = "사용 현황을 제공합니다.")
+public class ReactivePhonePlanQueryController {
+    private final ReactivePhonePlanQueryService phonePlanQueryService;
+
+    /**
+     * 사용자의 요금제 정보를 조회합니다.
+     * 응답에 ETag를 붙이며, If-None-Match가 같으면 본문 없이 304로 응답합니다.
+     *
+     * @param userId 조회할 사용자 ID
+     * @return 요금제 정보 응답
+     */
+    @Operation(summary = "사용 현황 조회",
+            description = "사용자의 사용 현황을 조회합니다. If-None-Match가 현재 ETag와 같으면 304를 반환합니다.")
+    @GetMapping("/{userId}")
+    public Mono<ResponseEntity<PhonePlanQueryResponse>> getPhonePlan(
+            @Parameter(description = "사용자 ID", example = "user123")
+            @PathVariable String userId
+    ) {
+        return phonePlanQueryService.getPhonePlan(userId)
+                .map(response -> ResponseEntity.ok().eTag(response.eTag()).body(response))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * 여러 사용자의 요금제 정보를 한 번에 조회합니다.
+     *
+     * @param request 조회할 사용자 ID 목록
+     * @return 요금제 정보 목록과 조회 모델이 없는 사용자 ID
+     */
+    @Operation(summary = "사용 현황 일괄 조회", description = "여러 사용자의 사용 현황을 한 번에 조회합니다.")
+    @PostMapping(value = "/batch", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<PhonePlanBatchQueryResponse>> getPhonePlans(
+            @RequestBody PhonePlanBatchQueryRequest request
+    ) {
+        return phonePlanQueryService.findPhonePlans(request.getUserIds())
+                .map(ResponseEntity::ok);
+    }
+
+    /**
+     * 조회 모델 전체를 userId 순서의 NDJSON으로 내보냅니다.
+     * 중단된 경우 마지막으로 받은 줄의 userId를 after로 전달해 이어서 받을 수 있습니다.
+     *
+     * @param planName 요금제명 조건
+     * @param status 상태 조건
+     * @param after 이 userId 다음부터 내보냄
+     * @param limit 최대 건수
+     * @return 한 줄에 하나의 요금제 정보
+     */
+    @Operation(summary = "사용 현황 내보내기",
+            description = "전체 사용 현황을 userId 순서의 NDJSON으로 스트리밍합니다.")
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Document> exportPhonePlans(
+            @Parameter(description = "요금제명 조건", example = "5G 프리미엄")
+            @RequestParam(required = false) String planName,
+            @Parameter(description = "상태 조건", example = "ACTIVE")
+            @RequestParam(required = false) String status,
+            @Parameter(description = "이어받기 위치(마지막으로 받은 userId)", example = "user123")
+            @RequestParam(required = false) String after,
+            @Parameter(description = "최대 건수, 0이면 제한 없음", example = "0")
+            @RequestParam(defaultValue = "0") long limit
+    ) {
+        return phonePlanQueryService.export(planName, status, after, limit);
+    }
+}
@@ -0,0 +1,24 @@
+package com.telecom.cqrs.query.domain;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Event Hub 파티션별 체크포인트 도큐먼트입니다.
+ * ID는 {@code 네임스페이스/허브/컨슈머 그룹/파티션} 형식입니다.
+ */
+@Document(collection = "eventhub_checkpoints")
+@Data
+public class EventHubCheckpoint {
+    @Id
+    private String id;
+
+    private String fullyQualifiedNamespace;
+    private String eventHubName;
+    private String consumerGroup;
+    private String partitionId;
+    private Long offset;
+    private Long sequenceNumber;
+    private long updatedAt;
+}
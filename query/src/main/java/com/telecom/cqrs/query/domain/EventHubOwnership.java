@@ -0,0 +1,24 @@
+package com.telecom.cqrs.query.domain;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Event Hub 파티션 소유권 도큐먼트입니다.
+ * eTag가 일치할 때만 소유권을 바꿀 수 있어 여러 인스턴스가 같은 파티션을 동시에 소유하지 않습니다.
+ */
+@Document(collection = "eventhub_ownership")
+@Data
+public class EventHubOwnership {
+    @Id
+    private String id;
+
+    private String fullyQualifiedNamespace;
+    private String eventHubName;
+    private String consumerGroup;
+    private String partitionId;
+    private String ownerId;
+    private long lastModifiedTime;
+    private String eTag;
+}
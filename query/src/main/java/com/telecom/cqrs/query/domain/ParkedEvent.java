@@ -0,0 +1,37 @@
+package com.telecom.cqrs.query.domain;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * 조회 모델에 반영하지 못해 보류된 이벤트입니다.
+ * 이벤트 처리 흐름을 막지 않도록 실패한 이벤트를 여기에 보관하고 별도 주기로 재처리합니다.
+ */
+@Document(collection = "parked_events")
+@Data
+public class ParkedEvent {
+    /** 반영 중 오류가 발생한 이벤트 */
+    public static final String REASON_PROCESSING_FAILURE = "PROCESSING_FAILURE";
+    /** 같은 사용자의 앞선 이벤트가 보류 중이라 순서를 지키기 위해 함께 보류된 이벤트 */
+    public static final String REASON_BLOCKED = "BLOCKED";
+    /** 메시지 본문을 해석하지 못한 이벤트. 자동 재처리하지 않습니다. */
+    public static final String REASON_PARSE_FAILURE = "PARSE_FAILURE";
+
+    @Id
+    private String id;
+
+    private String eventType;
+    private String userId;
+    private String contentType;
+    private byte[] payload;
+    private String reason;
+    private String lastError;
+    private int attempts;
+    private LocalDateTime parkedAt;
+    private LocalDateTime lastAttemptAt;
+    // null이면 자동 재처리 대상이 아니며 관리 API로만 재처리합니다.
+    private LocalDateTime nextAttemptAt;
+}
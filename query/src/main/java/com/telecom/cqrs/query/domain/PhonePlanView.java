@@ -4,6 +4,8 @@ import lombok.Data;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import java.util.List;
+
 /**
  * 요금제 조회를 위한 도큐먼트 클래스입니다.
  * Read DB(MongoDB)에 저장됩니다.
@@ -24,4 +26,8 @@ public class PhonePlanView {
     private Long dataUsage;
     private Long callUsage;
     private Long messageUsage;
+    // 최근 반영한 사용량 증가분 이벤트 ID로, 재전달된 증가분을 한 번만 더하는 데 사용합니다.
+    private List<String> appliedDeltaIds;
+    // 조회 모델을 갱신할 때마다 1씩 증가하는 버전으로, 조회 응답의 ETag에 사용합니다.
+    private Long version;
 }
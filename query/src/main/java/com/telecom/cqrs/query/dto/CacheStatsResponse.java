@@ -0,0 +1,47 @@
+package com.telecom.cqrs.query.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 요금제 조회 캐시 통계를 위한 DTO 클래스입니다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "요금제 조회 캐시 통계")
+public class CacheStatsResponse {
+    @Schema(description = "캐시된 사용자 수(추정치)", example = "52000")
+    private long size;
+
+    @Schema(description = "캐시 적중 수", example = "981234")
+    private long hits;
+
+    @Schema(description = "캐시 미스 수", example = "18766")
+    private long misses;
+
+    @Schema(description = "캐시 적중률", example = "0.981")
+    private double hitRatio;
+
+    @Schema(description = "캐시 미스 시 평균 적재 시간(나노초)", example = "850000")
+    private long averageLoadNanos;
+
+    @Schema(description = "용량 초과나 만료로 제거된 항목 수", example = "1200")
+    private long evictions;
+
+    @Schema(description = "이벤트 반영으로 갱신한 항목 수", example = "340000")
+    private long writeThroughs;
+
+    @Schema(description = "이벤트 반영으로 무효화한 항목 수", example = "2100")
+    private long invalidations;
+
+    @Schema(description = "진행 중인 조회 결과를 함께 받은 요청 수", example = "4200")
+    private long coalescedRequests;
+
+    @Schema(description = "진행 중인 조회를 기다리다 시간이 초과된 요청 수", example = "0")
+    private long coalescingTimeouts;
+}
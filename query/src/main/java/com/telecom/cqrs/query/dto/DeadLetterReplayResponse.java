@@ -0,0 +1,26 @@
+package com.telecom.cqrs.query.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 보류 이벤트 재처리 결과를 위한 DTO 클래스입니다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "보류 이벤트 재처리 결과")
+public class DeadLetterReplayResponse {
+    @Schema(description = "재처리에 성공한 이벤트 수", example = "12")
+    private int replayed;
+
+    @Schema(description = "재처리에 실패한 이벤트 수", example = "1")
+    private int failed;
+
+    @Schema(description = "남아 있는 보류 이벤트 수", example = "3")
+    private long remaining;
+}
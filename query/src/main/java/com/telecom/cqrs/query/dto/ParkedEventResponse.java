@@ -0,0 +1,37 @@
+package com.telecom.cqrs.query.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 보류 이벤트 조회 응답을 위한 DTO 클래스입니다.
+ */
+@Data
+@Schema(description = "보류 이벤트")
+public class ParkedEventResponse {
+    @Schema(description = "보류 이벤트 ID")
+    private String id;
+
+    @Schema(description = "이벤트 타입", example = "USAGE_UPDATED")
+    private String eventType;
+
+    @Schema(description = "사용자 ID", example = "user123")
+    private String userId;
+
+    @Schema(description = "보류 사유", example = "PROCESSING_FAILURE")
+    private String reason;
+
+    @Schema(description = "마지막 오류 메시지")
+    private String lastError;
+
+    @Schema(description = "처리 시도 횟수", example = "2")
+    private int attempts;
+
+    @Schema(description = "보류 시각")
+    private LocalDateTime parkedAt;
+
+    @Schema(description = "다음 자동 재처리 시각, 없으면 관리 API로만 재처리")
+    private LocalDateTime nextAttemptAt;
+}
@@ -0,0 +1,22 @@
+package com.telecom.cqrs.query.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 여러 사용자의 요금제 일괄 조회 요청을 위한 DTO 클래스입니다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "요금제 일괄 조회 요청")
+public class PhonePlanBatchQueryRequest {
+    @Schema(description = "조회할 사용자 ID 목록", example = "[\"user123\", \"user124\"]")
+    private List<String> userIds;
+}
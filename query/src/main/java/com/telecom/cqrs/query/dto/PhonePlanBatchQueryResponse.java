@@ -0,0 +1,25 @@
+package com.telecom.cqrs.query.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 요금제 일괄 조회 응답을 위한 DTO 클래스입니다. 응답은 이 형식으로 스트리밍됩니다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "요금제 일괄 조회 응답")
+public class PhonePlanBatchQueryResponse {
+    @Schema(description = "조회된 요금제 정보")
+    private List<PhonePlanQueryResponse> plans;
+
+    @Schema(description = "조회 모델이 없는 사용자 ID", example = "[\"user999\"]")
+    private List<String> missingUserIds;
+}
@@ -35,4 +35,14 @@ public class PhonePlanQueryResponse {
     
     @Schema(description = "월 요금(원)", example = "50000")
     private double monthlyFee;
+
+    @Schema(description = "조회 모델 버전", example = "42")
+    private Long version;
+
+    /**
+     * 응답의 ETag 값으로 조회 모델 버전을 반환합니다. 캐시와 메모리 저장소는 MongoDB가 반환한 버전을 그대로 보관합니다.
+     */
+    public String eTag() {
+        return String.valueOf(version != null ? version : 0L);
+    }
 }
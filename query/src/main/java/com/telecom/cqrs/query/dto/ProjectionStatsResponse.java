@@ -0,0 +1,41 @@
+package com.telecom.cqrs.query.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 메모리 조회 모드의 저장소 통계를 위한 DTO 클래스입니다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "메모리 조회 저장소 통계")
+public class ProjectionStatsResponse {
+    @Schema(description = "조회 모드", example = "memory")
+    private String servingMode;
+
+    @Schema(description = "적재된 구독자 수", example = "1000000")
+    private long subscribers;
+
+    @Schema(description = "요금제 테이블의 요금제명 수", example = "12")
+    private long planNames;
+
+    @Schema(description = "오프힙 레코드 메모리(바이트)", example = "58720256")
+    private long offHeapBytes;
+
+    @Schema(description = "userId 인덱스의 힙 메모리 추정치(바이트)", example = "110000000")
+    private long indexBytes;
+
+    @Schema(description = "구독자 한 명당 메모리(바이트)", example = "168")
+    private long bytesPerSubscriber;
+
+    @Schema(description = "메모리 조회 평균 지연 시간(나노초)", example = "350")
+    private long averageReadNanos;
+
+    @Schema(description = "MongoDB 조회 평균 지연 시간(나노초), 캐시 미스 적재 기준", example = "850000")
+    private long averageMongoLoadNanos;
+}
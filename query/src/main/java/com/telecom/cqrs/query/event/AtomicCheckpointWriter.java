@@ -0,0 +1,51 @@
+package com.telecom.cqrs.query.event;
+
+import com.azure.messaging.eventhubs.EventData;
+import com.azure.messaging.eventhubs.models.Checkpoint;
+import com.azure.messaging.eventhubs.models.PartitionContext;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.mongodb.MongoTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * MongoDB 체크포인트 저장소를 사용할 때 조회 모델 반영과 체크포인트를 한 트랜잭션으로 커밋합니다.
+ *
+ * <p>반영과 위치가 함께 커밋되므로 재시작 시 이미 반영한 이벤트가 다시 전달되지 않습니다.
+ * Blob 저장소를 사용하면 비활성화되며 {@link CheckpointCoordinator}가 체크포인트를 기록합니다.</p>
+ */
+@Component
+public class AtomicCheckpointWriter {
+    private final MongoCheckpointStore checkpointStore;
+    private final TransactionTemplate transactionTemplate;
+
+    public AtomicCheckpointWriter(
+            ObjectProvider<MongoCheckpointStore> checkpointStore,
+            ObjectProvider<MongoTransactionManager> transactionManager) {
+        this.checkpointStore = checkpointStore.getIfAvailable();
+        MongoTransactionManager manager = transactionManager.getIfAvailable();
+        this.transactionTemplate = manager != null ? new TransactionTemplate(manager) : null;
+    }
+
+    public boolean isEnabled() {
+        return checkpointStore != null && transactionTemplate != null;
+    }
+
+    /**
+     * 주어진 메시지 위치를 기록하는 작업을 만듭니다. 트랜잭션 안에서 실행하면 그 트랜잭션에 함께 커밋됩니다.
+     */
+    public Runnable checkpointFor(PartitionContext partitionContext, EventData last) {
+        Checkpoint checkpoint = new Checkpoint()
+                .setFullyQualifiedNamespace(partitionContext.getFullyQualifiedNamespace())
+                .setEventHubName(partitionContext.getEventHubName())
+                .setConsumerGroup(partitionContext.getConsumerGroup())
+                .setPartitionId(partitionContext.getPartitionId())
+                .setOffset(last.getOffset())
+                .setSequenceNumber(last.getSequenceNumber());
+        return () -> checkpointStore.saveCheckpoint(checkpoint);
+    }
+
+    public void executeInTransaction(Runnable work) {
+        transactionTemplate.executeWithoutResult(status -> work.run());
+    }
+}
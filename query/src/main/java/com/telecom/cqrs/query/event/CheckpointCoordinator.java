@@ -0,0 +1,181 @@
+package com.telecom.cqrs.query.event;
+
+import com.azure.messaging.eventhubs.models.EventBatchContext;
+import com.azure.messaging.eventhubs.models.EventContext;
+import com.azure.messaging.eventhubs.models.PartitionContext;
+import com.telecom.cqrs.query.config.EventHubProperties;
+import com.telecom.cqrs.query.metrics.CheckpointMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 파티션별 체크포인트 기록 시점을 조정합니다.
+ *
+ * <p>이벤트마다 체크포인트 저장소에 기록하지 않고, 마지막으로 처리한 위치만 기억해 두었다가
+ * {@code eventhub.checkpoint-event-count}개를 처리했거나 {@code eventhub.checkpoint-interval}(ms)이 지나면 기록합니다.
+ * 파티션이 닫히거나 애플리케이션이 종료될 때는 남은 위치를 항상 기록합니다.
+ * 재시작하면 마지막 체크포인트 이후의 이벤트가 다시 전달되므로, 이벤트 반영은 재처리에 안전해야 합니다.</p>
+ */
+@Slf4j
+@Component
+public class CheckpointCoordinator {
+    private final Map<String, PartitionCheckpoint> partitions = new ConcurrentHashMap<>();
+    private final CheckpointMetrics metrics;
+    private final ScheduledExecutorService scheduler;
+    private final long eventThreshold;
+    private final long intervalMillis;
+
+    public CheckpointCoordinator(EventHubProperties eventHubProperties, CheckpointMetrics metrics) {
+        this.metrics = metrics;
+        this.eventThreshold = Math.max(1, eventHubProperties.getCheckpointEventCount());
+        this.intervalMillis = Math.max(1, eventHubProperties.getCheckpointInterval());
+        this.scheduler = Executors.newSingleThreadScheduledExecutor();
+        long tick = Math.max(100, intervalMillis / 2);
+        this.scheduler.scheduleAtFixedRate(this::checkpointExpired, tick, tick, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 단건 수신으로 처리한 메시지의 위치를 기록 대상으로 등록합니다.
+     *
+     * @param eventContext 처리한 메시지의 컨텍스트
+     * @param events 메시지에 담겨 있던 이벤트 수
+     */
+    public void record(EventContext eventContext, int events) {
+        record(eventContext.getPartitionContext(), events, eventContext::updateCheckpoint);
+    }
+
+    /**
+     * 배치 수신으로 처리한 배치의 마지막 위치를 기록 대상으로 등록합니다.
+     *
+     * @param batchContext 처리한 배치의 컨텍스트
+     * @param events 배치에 담겨 있던 이벤트 수
+     */
+    public void record(EventBatchContext batchContext, int events) {
+        record(batchContext.getPartitionContext(), events, batchContext::updateCheckpoint);
+    }
+
+    /**
+     * 파티션이 닫힐 때 남은 위치를 기록하고 파티션 상태를 제거합니다.
+     */
+    public void close(PartitionContext partitionContext) {
+        PartitionCheckpoint partition = partitions.remove(key(partitionContext));
+        if (partition != null) {
+            partition.lock.lock();
+            try {
+                partition.write();
+            } finally {
+                partition.lock.unlock();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdown();
+        for (PartitionCheckpoint partition : partitions.values()) {
+            partition.lock.lock();
+            try {
+                partition.write();
+            } finally {
+                partition.lock.unlock();
+            }
+        }
+        log.info("Checkpoints flushed before shutdown: {}", metrics.getMetricsSummary());
+    }
+
+    /**
+     * 처리를 마친 위치를 기록 대상으로 등록합니다. 같은 파티션에 대해서는 위치가 증가하는 순서로 호출해야 합니다.
+     *
+     * @param partitionContext 이벤트를 받은 파티션
+     * @param events 이번에 처리를 마친 이벤트 수
+     * @param checkpoint 위치를 기록하는 작업
+     */
+    public void record(PartitionContext partitionContext, int events, Runnable checkpoint) {
+        PartitionCheckpoint partition = partitions.computeIfAbsent(key(partitionContext), PartitionCheckpoint::new);
+        partition.lock.lock();
+        try {
+            partition.pending = checkpoint;
+            if (partition.pendingEvents == 0) {
+                partition.pendingSince = System.currentTimeMillis();
+            }
+            partition.pendingEvents += events;
+            if (partition.pendingEvents >= eventThreshold) {
+                partition.write();
+            }
+        } finally {
+            partition.lock.unlock();
+        }
+    }
+
+    private void checkpointExpired() {
+        try {
+            long now = System.currentTimeMillis();
+            long replayEvents = 0;
+            long replayMillis = 0;
+            for (PartitionCheckpoint partition : partitions.values()) {
+                partition.lock.lock();
+                try {
+                    if (partition.pending != null && now - partition.lastWrittenAt >= intervalMillis) {
+                        partition.write();
+                    }
+                    if (partition.pending != null) {
+                        replayEvents += partition.pendingEvents;
+                        replayMillis = Math.max(replayMillis, now - partition.pendingSince);
+                    }
+                } finally {
+                    partition.lock.unlock();
+                }
+            }
+            metrics.updateReplayWindow(replayEvents, replayMillis);
+        } catch (Exception e) {
+            log.warn("Checkpoint schedule failed: {}", e.getMessage());
+        }
+    }
+
+    private String key(PartitionContext partitionContext) {
+        return partitionContext.getEventHubName() + "/" + partitionContext.getPartitionId();
+    }
+
+    /**
+     * 하나의 파티션에 대한 체크포인트 상태입니다. 모든 접근은 lock 안에서 이뤄집니다.
+     * 기록은 저장소 I/O를 포함하므로 가상 스레드가 캐리어 스레드에 고정되지 않도록 모니터 대신 lock을 사용합니다.
+     */
+    private class PartitionCheckpoint {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final String key;
+        private Runnable pending;
+        private long pendingEvents;
+        private long pendingSince;
+        private long lastWrittenAt = System.currentTimeMillis();
+
+        private PartitionCheckpoint(String key) {
+            this.key = key;
+        }
+
+        private void write() {
+            if (pending == null) {
+                return;
+            }
+            try {
+                pending.run();
+                metrics.recordCheckpoint(pendingEvents);
+                log.debug("Checkpoint updated: partition={}, events={}", key, pendingEvents);
+                pending = null;
+                pendingEvents = 0;
+            } catch (Exception e) {
+                // 실패한 위치는 남겨 두고 다음 주기에 다시 기록합니다.
+                metrics.incrementCheckpointErrors();
+                log.warn("Checkpoint update failed: partition={}, error={}", key, e.getMessage());
+            }
+            lastWrittenAt = System.currentTimeMillis();
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.telecom.cqrs.query.event;
+
+import com.azure.messaging.eventhubs.models.PartitionContext;
+import com.telecom.cqrs.query.config.EventHubProperties;
+import com.telecom.cqrs.query.exception.EventProcessingException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 한 파티션의 이벤트를 사용자 ID별 레인으로 나눠 병렬로 반영하는 디스패처입니다.
+ *
+ * <p>같은 사용자의 이벤트는 항상 같은 단일 스레드 레인에서 수신 순서대로 실행되고, 다른 사용자의 이벤트는 동시에 실행됩니다.
+ * 레인 큐가 가득 차면 수신 스레드가 대기하므로 처리 중인 이벤트 수는 레인 수와 큐 크기로 제한됩니다.</p>
+ *
+ * <p>체크포인트는 워터마크 방식으로 전진합니다. 전달 단위(메시지 또는 배치)는 담긴 작업이 모두 끝나야 완료되며,
+ * 앞선 전달 단위가 모두 완료된 위치까지만 {@link CheckpointCoordinator}에 등록합니다.</p>
+ *
+ * <p>작업이 예외를 던지면(이벤트를 보류하지도 못한 경우) 그 파티션의 체크포인트는 더 이상 전진하지 않으며,
+ * 다음 전달에서 예외를 던져 파티션을 닫습니다. 파티션은 마지막 체크포인트부터 다시 처리됩니다.</p>
+ */
+@Slf4j
+@Component
+public class KeyOrderedDispatcher {
+    private final ThreadPoolExecutor[] lanes;
+    private final Map<String, PartitionWatermark> watermarks = new ConcurrentHashMap<>();
+    private final CheckpointCoordinator checkpointCoordinator;
+
+    public KeyOrderedDispatcher(EventHubProperties eventHubProperties, CheckpointCoordinator checkpointCoordinator,
+                                Environment environment) {
+        this.checkpointCoordinator = checkpointCoordinator;
+        Integer configuredLanes = eventHubProperties.getWorkerLanes();
+        int laneCount = configuredLanes != null && configuredLanes > 0
+                ? configuredLanes
+                : Runtime.getRuntime().availableProcessors();
+        int queueCapacity = Math.max(1, eventHubProperties.getLaneQueueCapacity());
+
+        // spring.threads.virtual.enabled이면 레인을 가상 스레드로 실행해 MongoDB I/O와 재시도 대기 동안 플랫폼 스레드를 점유하지 않습니다.
+        boolean virtual = Threading.VIRTUAL.isActive(environment);
+        this.lanes = new ThreadPoolExecutor[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            String threadName = "event-lane-" + i;
+            ThreadFactory threadFactory = virtual
+                    ? Thread.ofVirtual().name(threadName).factory()
+                    : Thread.ofPlatform().name(threadName).factory();
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity),
+                    threadFactory,
+                    new BlockingSubmitPolicy());
+        }
+        log.info("Key-ordered dispatcher initialized: lanes={}, queueCapacity={}, virtualThreads={}",
+                laneCount, queueCapacity, virtual);
+    }
+
+    /**
+     * 전달 단위에 담긴 작업을 레인에 나눠 실행합니다.
+     *
+     * @param partitionContext 이벤트를 받은 파티션
+     * @param sequenceNumber 전달 단위의 마지막 시퀀스 번호
+     * @param tasks 수신 순서대로 나열한 작업 목록
+     * @param checkpoint 전달 단위가 워터마크가 되었을 때 위치를 기록하는 작업
+     */
+    public void dispatch(PartitionContext partitionContext, long sequenceNumber,
+                         List<KeyedTask> tasks, Runnable checkpoint) {
+        checkFailure(partitionContext);
+        PartitionWatermark watermark = watermarks.computeIfAbsent(key(partitionContext),
+                key -> new PartitionWatermark((events, write) -> checkpointCoordinator.record(partitionContext, events, write)));
+        PartitionWatermark.Delivery delivery = new PartitionWatermark.Delivery(sequenceNumber, tasks.size(), checkpoint);
+        watermark.begin(delivery);
+
+        if (tasks.isEmpty()) {
+            watermark.complete(delivery);
+            return;
+        }
+        for (KeyedTask task : tasks) {
+            laneFor(task.key()).execute(() -> {
+                try {
+                    task.work().run();
+                } catch (Exception e) {
+                    log.error("Keyed event task failed, holding checkpoint: key={}, error={}", task.key(), e.getMessage(), e);
+                    watermark.fail(e);
+                } finally {
+                    if (delivery.finishTask()) {
+                        watermark.complete(delivery);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * 앞선 작업이 실패한 파티션이면 예외를 던져 수신 콜백을 중단시킵니다.
+     * 이벤트 프로세서는 파티션을 닫고 마지막 체크포인트부터 다시 전달합니다.
+     */
+    public void checkFailure(PartitionContext partitionContext) {
+        String key = key(partitionContext);
+        PartitionWatermark watermark = watermarks.get(key);
+        Exception failure = watermark != null ? watermark.failure() : null;
+        if (failure != null) {
+            watermarks.remove(key, watermark);
+            throw new EventProcessingException(
+                    "Keyed event task failed, restarting partition " + partitionContext.getPartitionId()
+                            + " from the last checkpoint", failure);
+        }
+    }
+
+    /**
+     * 파티션이 닫히면 이후 완료되는 작업이 체크포인트를 전진시키지 않도록 워터마크를 닫습니다.
+     * 닫힌 뒤 끝난 이벤트는 새 소유자가 마지막 체크포인트부터 다시 처리합니다.
+     */
+    public void close(PartitionContext partitionContext) {
+        PartitionWatermark watermark = watermarks.remove(key(partitionContext));
+        if (watermark != null) {
+            watermark.close();
+        }
+    }
+
+    public int getQueuedTasks() {
+        int queued = 0;
+        for (ThreadPoolExecutor lane : lanes) {
+            queued += lane.getQueue().size();
+        }
+        return queued;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+        try {
+            for (ThreadPoolExecutor lane : lanes) {
+                if (!lane.awaitTermination(10, TimeUnit.SECONDS)) {
+                    log.warn("Event lane did not finish within the shutdown timeout");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private ThreadPoolExecutor laneFor(String key) {
+        int hash = key != null ? key.hashCode() : 0;
+        return lanes[Math.floorMod(hash, lanes.length)];
+    }
+
+    private String key(PartitionContext partitionContext) {
+        return partitionContext.getEventHubName() + "/" + partitionContext.getPartitionId();
+    }
+
+    /**
+     * 레인에서 실행할 작업입니다. 같은 키의 작업은 같은 레인에서 순서대로 실행됩니다.
+     */
+    public record KeyedTask(String key, Runnable work) {}
+
+    /**
+     * 레인 큐가 가득 차면 자리가 날 때까지 제출한 스레드를 대기시킵니다.
+     * 호출 스레드에서 바로 실행하면 같은 사용자의 순서가 깨지므로 사용하지 않습니다.
+     */
+    private static final class BlockingSubmitPolicy implements RejectedExecutionHandler {
+        @Override
+        public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+            if (executor.isShutdown()) {
+                throw new RejectedExecutionException("Event lane is shut down");
+            }
+            try {
+                executor.getQueue().put(task);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RejectedExecutionException("Interrupted while waiting for an event lane", e);
+            }
+        }
+    }
+}
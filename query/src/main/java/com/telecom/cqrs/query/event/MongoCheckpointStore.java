@@ -0,0 +1,173 @@
+package com.telecom.cqrs.query.event;
+
+import com.azure.messaging.eventhubs.CheckpointStore;
+import com.azure.messaging.eventhubs.models.Checkpoint;
+import com.azure.messaging.eventhubs.models.PartitionOwnership;
+import com.telecom.cqrs.query.domain.EventHubCheckpoint;
+import com.telecom.cqrs.query.domain.EventHubOwnership;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 파티션 소유권과 체크포인트를 MongoDB에 저장하는 {@link CheckpointStore}입니다.
+ *
+ * <p>조회 모델과 같은 MongoDB를 사용하므로 {@link #saveCheckpoint(Checkpoint)}를 조회 모델 갱신과 같은 트랜잭션에서 호출하면
+ * 반영과 체크포인트가 함께 커밋됩니다. 소유권은 eTag 조건부 갱신으로 경합을 막습니다.</p>
+ */
+@Slf4j
+public class MongoCheckpointStore implements CheckpointStore {
+    private final MongoTemplate mongoTemplate;
+
+    public MongoCheckpointStore(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * 트랜잭션 안에서는 컬렉션을 암묵적으로 만들 수 없는 MongoDB 버전을 위해 컬렉션을 미리 생성합니다.
+     */
+    public void initialize() {
+        for (Class<?> type : List.of(EventHubCheckpoint.class, EventHubOwnership.class)) {
+            if (!mongoTemplate.collectionExists(type)) {
+                mongoTemplate.createCollection(type);
+            }
+        }
+    }
+
+    @Override
+    public Flux<PartitionOwnership> listOwnership(String fullyQualifiedNamespace, String eventHubName,
+                                                  String consumerGroup) {
+        return Flux.defer(() -> Flux.fromIterable(mongoTemplate.find(
+                        byConsumerGroup(fullyQualifiedNamespace, eventHubName, consumerGroup),
+                        EventHubOwnership.class)))
+                .map(this::toPartitionOwnership)
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Flux<PartitionOwnership> claimOwnership(List<PartitionOwnership> requestedPartitionOwnerships) {
+        return Flux.fromIterable(requestedPartitionOwnerships)
+                .flatMap(requested -> Mono.fromCallable(() -> claim(requested))
+                        .subscribeOn(Schedulers.boundedElastic()));
+    }
+
+    @Override
+    public Flux<Checkpoint> listCheckpoints(String fullyQualifiedNamespace, String eventHubName,
+                                            String consumerGroup) {
+        return Flux.defer(() -> Flux.fromIterable(mongoTemplate.find(
+                        byConsumerGroup(fullyQualifiedNamespace, eventHubName, consumerGroup),
+                        EventHubCheckpoint.class)))
+                .map(this::toCheckpoint)
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Mono<Void> updateCheckpoint(Checkpoint checkpoint) {
+        return Mono.<Void>fromRunnable(() -> saveCheckpoint(checkpoint))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * 체크포인트를 저장합니다. 호출한 스레드에 MongoDB 트랜잭션이 있으면 그 트랜잭션에 참여합니다.
+     */
+    public void saveCheckpoint(Checkpoint checkpoint) {
+        String id = id(checkpoint.getFullyQualifiedNamespace(), checkpoint.getEventHubName(),
+                checkpoint.getConsumerGroup(), checkpoint.getPartitionId());
+        Update update = new Update()
+                .set("fullyQualifiedNamespace", checkpoint.getFullyQualifiedNamespace())
+                .set("eventHubName", checkpoint.getEventHubName())
+                .set("consumerGroup", checkpoint.getConsumerGroup())
+                .set("partitionId", checkpoint.getPartitionId())
+                .set("offset", checkpoint.getOffset())
+                .set("sequenceNumber", checkpoint.getSequenceNumber())
+                .set("updatedAt", System.currentTimeMillis());
+        mongoTemplate.upsert(Query.query(Criteria.where("_id").is(id)), update, EventHubCheckpoint.class);
+    }
+
+    private PartitionOwnership claim(PartitionOwnership requested) {
+        String id = id(requested.getFullyQualifiedNamespace(), requested.getEventHubName(),
+                requested.getConsumerGroup(), requested.getPartitionId());
+        long now = System.currentTimeMillis();
+        String eTag = UUID.randomUUID().toString();
+
+        if (requested.getETag() == null) {
+            EventHubOwnership ownership = new EventHubOwnership();
+            ownership.setId(id);
+            ownership.setFullyQualifiedNamespace(requested.getFullyQualifiedNamespace());
+            ownership.setEventHubName(requested.getEventHubName());
+            ownership.setConsumerGroup(requested.getConsumerGroup());
+            ownership.setPartitionId(requested.getPartitionId());
+            ownership.setOwnerId(requested.getOwnerId());
+            ownership.setLastModifiedTime(now);
+            ownership.setETag(eTag);
+            try {
+                mongoTemplate.insert(ownership);
+            } catch (DuplicateKeyException e) {
+                log.debug("Ownership already claimed: partition={}", requested.getPartitionId());
+                return null;
+            }
+        } else {
+            Query query = Query.query(Criteria.where("_id").is(id).and("eTag").is(requested.getETag()));
+            Update update = new Update()
+                    .set("ownerId", requested.getOwnerId())
+                    .set("lastModifiedTime", now)
+                    .set("eTag", eTag);
+            EventHubOwnership updated = mongoTemplate.findAndModify(query, update,
+                    FindAndModifyOptions.options().returnNew(true), EventHubOwnership.class);
+            if (updated == null) {
+                log.debug("Ownership claim lost: partition={}", requested.getPartitionId());
+                return null;
+            }
+        }
+
+        return new PartitionOwnership()
+                .setFullyQualifiedNamespace(requested.getFullyQualifiedNamespace())
+                .setEventHubName(requested.getEventHubName())
+                .setConsumerGroup(requested.getConsumerGroup())
+                .setPartitionId(requested.getPartitionId())
+                .setOwnerId(requested.getOwnerId())
+                .setLastModifiedTime(now)
+                .setETag(eTag);
+    }
+
+    private PartitionOwnership toPartitionOwnership(EventHubOwnership ownership) {
+        return new PartitionOwnership()
+                .setFullyQualifiedNamespace(ownership.getFullyQualifiedNamespace())
+                .setEventHubName(ownership.getEventHubName())
+                .setConsumerGroup(ownership.getConsumerGroup())
+                .setPartitionId(ownership.getPartitionId())
+                .setOwnerId(ownership.getOwnerId())
+                .setLastModifiedTime(ownership.getLastModifiedTime())
+                .setETag(ownership.getETag());
+    }
+
+    private Checkpoint toCheckpoint(EventHubCheckpoint checkpoint) {
+        return new Checkpoint()
+                .setFullyQualifiedNamespace(checkpoint.getFullyQualifiedNamespace())
+                .setEventHubName(checkpoint.getEventHubName())
+                .setConsumerGroup(checkpoint.getConsumerGroup())
+                .setPartitionId(checkpoint.getPartitionId())
+                .setOffset(checkpoint.getOffset())
+                .setSequenceNumber(checkpoint.getSequenceNumber());
+    }
+
+    private Query byConsumerGroup(String fullyQualifiedNamespace, String eventHubName, String consumerGroup) {
+        return Query.query(Criteria.where("fullyQualifiedNamespace").is(fullyQualifiedNamespace)
+                .and("eventHubName").is(eventHubName)
+                .and("consumerGroup").is(consumerGroup));
+    }
+
+    private String id(String fullyQualifiedNamespace, String eventHubName, String consumerGroup, String partitionId) {
+        return fullyQualifiedNamespace + "/" + eventHubName + "/" + consumerGroup.toLowerCase() + "/" + partitionId;
+    }
+}
@@ -0,0 +1,129 @@
+package com.telecom.cqrs.query.event;
+
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 한 파티션에서 처리 중인 전달 단위(메시지 또는 배치)를 추적해 체크포인트 워터마크를 계산합니다.
+ *
+ * <p>전달 단위는 시퀀스 번호 순서로 시작되지만 완료는 순서와 관계없이 일어납니다. 앞선 전달 단위가 모두 완료된 위치까지만
+ * 한 번에 모아 기록하며, 기록은 lock 안에서 호출되므로 기록 순서가 곧 위치 순서입니다.
+ * 닫히거나 실패한 뒤에는 더 이상 기록하지 않습니다. 모든 접근은 lock 안에서 이뤄집니다.</p>
+ */
+final class PartitionWatermark {
+    /**
+     * 워터마크가 전진했을 때 호출됩니다.
+     */
+    @FunctionalInterface
+    interface Recorder {
+        /**
+         * @param events 이번에 처리를 마친 이벤트 수
+         * @param checkpoint 워터마크가 된 전달 단위의 위치를 기록하는 작업
+         */
+        void record(int events, Runnable checkpoint);
+    }
+
+    /**
+     * 처리 중인 전달 단위입니다. 담긴 작업이 모두 끝나면 완료됩니다.
+     */
+    static final class Delivery {
+        private final long sequenceNumber;
+        private final int events;
+        private final Runnable checkpoint;
+        private final AtomicInteger remaining;
+        private boolean done;
+
+        Delivery(long sequenceNumber, int events, Runnable checkpoint) {
+            this.sequenceNumber = sequenceNumber;
+            this.events = events;
+            this.checkpoint = checkpoint;
+            this.remaining = new AtomicInteger(events);
+        }
+
+        /**
+         * 작업 하나가 끝났음을 표시합니다.
+         *
+         * @return 마지막 작업이면 true
+         */
+        boolean finishTask() {
+            return remaining.decrementAndGet() == 0;
+        }
+    }
+
+    private final Recorder recorder;
+    // 완료 처리 중 체크포인트 기록(I/O)이 일어날 수 있어 모니터 대신 사용합니다.
+    private final ReentrantLock lock = new ReentrantLock();
+    private final TreeMap<Long, Delivery> inFlight = new TreeMap<>();
+    private boolean closed;
+    private Exception failure;
+
+    PartitionWatermark(Recorder recorder) {
+        this.recorder = recorder;
+    }
+
+    void begin(Delivery delivery) {
+        lock.lock();
+        try {
+            inFlight.put(delivery.sequenceNumber, delivery);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void complete(Delivery delivery) {
+        lock.lock();
+        try {
+            delivery.done = true;
+            Delivery watermark = null;
+            int events = 0;
+            while (!inFlight.isEmpty() && inFlight.firstEntry().getValue().done) {
+                watermark = inFlight.pollFirstEntry().getValue();
+                events += watermark.events;
+            }
+            // 등록 순서가 체크포인트 순서가 되도록 lock 안에서 등록합니다.
+            if (watermark != null && !closed && failure == null) {
+                recorder.record(events, watermark.checkpoint);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 실패한 작업이 있으면 이후 완료되는 전달 단위가 실패한 위치를 넘어 체크포인트를 전진시키지 않도록 합니다.
+     */
+    void fail(Exception error) {
+        lock.lock();
+        try {
+            if (failure == null) {
+                failure = error;
+            }
+            inFlight.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    Exception failure() {
+        lock.lock();
+        try {
+            return failure;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 파티션이 닫히면 이후 완료되는 전달 단위가 체크포인트를 전진시키지 않도록 합니다.
+     */
+    void close() {
+        lock.lock();
+        try {
+            closed = true;
+            inFlight.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
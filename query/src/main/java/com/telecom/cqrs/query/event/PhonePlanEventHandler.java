@@ -1,40 +1,68 @@
 package com.telecom.cqrs.query.event;
 
+import com.azure.messaging.eventhubs.EventData;
 import com.azure.messaging.eventhubs.EventProcessorClient;
 import com.azure.messaging.eventhubs.models.ErrorContext;
+import com.azure.messaging.eventhubs.models.EventBatchContext;
 import com.azure.messaging.eventhubs.models.EventContext;
+import com.azure.messaging.eventhubs.models.PartitionContext;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.telecom.cqrs.common.constant.EventHubConstants;
+import com.telecom.cqrs.common.event.EventCodec;
 import com.telecom.cqrs.common.event.PhonePlanEvent;
-import com.telecom.cqrs.query.domain.PhonePlanView;
 import com.telecom.cqrs.query.exception.EventProcessingException;
-import com.telecom.cqrs.query.repository.PhonePlanViewRepository;
+import com.telecom.cqrs.query.service.DeadLetterService;
+import com.telecom.cqrs.query.service.ProjectionSnapshotService;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.retry.support.RetryTemplate;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.retry.annotation.Retryable;
 import org.springframework.retry.annotation.Backoff;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 
+/**
+ * 요금제 허브의 이벤트를 조회 모델에 반영합니다.
+ *
+ * <p>배치 수신({@link #acceptBatch})에서는 사용자별로 마지막 요금제 이벤트만 남겨
+ * 한 번의 비순차 bulk upsert로 기록합니다.</p>
+ *
+ * <p>반영에 실패한 이벤트는 재시도로 파티션을 멈추지 않고 {@link DeadLetterService}에 보류한 뒤 다음 이벤트로 넘어갑니다.
+ * 보류조차 실패하면(보류 컬렉션도 같은 MongoDB에 있으므로) 예외를 콜백 밖으로 던져 위치가 전진하지 않게 하고,
+ * 이벤트 프로세서가 파티션을 닫은 뒤 마지막 체크포인트부터 다시 처리하도록 합니다.</p>
+ */
 @Slf4j
 @Service
 public class PhonePlanEventHandler implements Consumer<EventContext> {
-    private final PhonePlanViewRepository phonePlanViewRepository;
-    private final ObjectMapper objectMapper;
-    private final RetryTemplate retryTemplate;
+    private final EventCodec eventCodec;
+    private final DeadLetterService deadLetterService;
+    private final CheckpointCoordinator checkpointCoordinator;
+    private final KeyOrderedDispatcher keyOrderedDispatcher;
+    private final AtomicCheckpointWriter atomicCheckpointWriter;
+    private final ProjectionSnapshotService projectionSnapshotService;
     private final AtomicLong eventsProcessed = new AtomicLong(0);
     private final AtomicLong eventErrors = new AtomicLong(0);
     private EventProcessorClient eventProcessorClient;
 
     public PhonePlanEventHandler(
-            PhonePlanViewRepository phonePlanViewRepository,
             ObjectMapper objectMapper,
-            RetryTemplate retryTemplate) {
-        this.phonePlanViewRepository = phonePlanViewRepository;
-        this.objectMapper = objectMapper;
-        this.retryTemplate = retryTemplate;
+            DeadLetterService deadLetterService,
+            CheckpointCoordinator checkpointCoordinator,
+            KeyOrderedDispatcher keyOrderedDispatcher,
+            AtomicCheckpointWriter atomicCheckpointWriter,
+            ProjectionSnapshotService projectionSnapshotService) {
+        this.eventCodec = new EventCodec(objectMapper);
+        this.deadLetterService = deadLetterService;
+        this.checkpointCoordinator = checkpointCoordinator;
+        this.keyOrderedDispatcher = keyOrderedDispatcher;
+        this.atomicCheckpointWriter = atomicCheckpointWriter;
+        this.projectionSnapshotService = projectionSnapshotService;
     }
 
     public void setEventProcessorClient(EventProcessorClient client) {
@@ -60,77 +88,170 @@ public class PhonePlanEventHandler implements Consumer<EventContext> {
     }
 
     @Override
-    @Transactional
     public void accept(EventContext eventContext) {
-        String eventData = eventContext.getEventData().getBodyAsString();
+        EventData eventData = eventContext.getEventData();
         String partitionId = eventContext.getPartitionContext().getPartitionId();
 
-        log.info("***** Received plan event: {}", eventData);
+        if (skipReplayed(eventContext.getPartitionContext(), List.of(eventData)).isEmpty()) {
+            return;
+        }
 
         try {
-            log.debug("Processing plan event: partition={}, offset={}, data={}",
+            log.debug("Processing plan event: partition={}, offset={}, contentType={}",
                     partitionId,
-                    eventContext.getEventData().getSequenceNumber(),
-                    eventData);
-
-            PhonePlanEvent event = parseEvent(eventData);
-            if (event != null) {
-                processUserEvent(event);
-                eventsProcessed.incrementAndGet();
-                eventContext.updateCheckpoint();
-                log.debug("Plan event processed successfully: userId={}", event.getUserId());
+                    eventData.getSequenceNumber(),
+                    eventData.getContentType());
+
+            List<PhonePlanEvent> events = parseEvents(eventData);
+            if (atomicCheckpointWriter.isEnabled()) {
+                // 메시지의 이벤트와 메시지 위치를 한 트랜잭션으로 커밋합니다.
+                int applied = deadLetterService.applyAllOrPark(events,
+                        atomicCheckpointWriter.checkpointFor(eventContext.getPartitionContext(), eventData));
+                countApplied(events.size(), events.size() - applied);
+                projectionSnapshotService.markApplied(eventContext.getPartitionContext(), eventData);
+                return;
             }
+            for (PhonePlanEvent event : events) {
+                log.info("***** Received plan event: {}", event);
+                applyEvent(event);
+            }
+            // 실패한 이벤트는 보류되었으므로 메시지 단위로 위치를 기록합니다.
+            projectionSnapshotService.markApplied(eventContext.getPartitionContext(), eventData);
+            checkpointCoordinator.record(eventContext, events.size());
         } catch (Exception e) {
-            log.error("Failed to process plan event: partition={}, data={}, error={}",
-                    partitionId, eventData, e.getMessage(), e);
+            log.error("Failed to process plan event, restarting partition from the last checkpoint: partition={}, sequenceNumber={}, error={}",
+                    partitionId, eventData.getSequenceNumber(), e.getMessage(), e);
             eventErrors.incrementAndGet();
+            // 처리하지도 보류하지도 못한 이벤트가 있으므로 이후 메시지가 체크포인트를 전진시키지 않도록 파티션을 멈춥니다.
+            throw new EventProcessingException("Failed to process plan event on partition " + partitionId, e);
         }
     }
 
-    private PhonePlanEvent parseEvent(String eventData) {
+    /**
+     * 배치로 받은 요금제 이벤트를 반영하고 배치의 마지막 위치를 체크포인트 대상으로 등록합니다.
+     * 요금제 이벤트는 전체 상태를 담고 있으므로 사용자별 마지막 이벤트만 기록합니다.
+     */
+    public void acceptBatch(EventBatchContext batchContext) {
+        List<EventData> messages = skipReplayed(batchContext.getPartitionContext(), batchContext.getEvents());
+        if (messages.isEmpty()) {
+            return;
+        }
+        String partitionId = batchContext.getPartitionContext().getPartitionId();
+
         try {
-            return objectMapper.readValue(eventData, PhonePlanEvent.class);
+            Map<String, PhonePlanEvent> latestByUser = new LinkedHashMap<>();
+            int received = 0;
+            for (EventData eventData : messages) {
+                for (PhonePlanEvent event : parseEvents(eventData)) {
+                    received++;
+                    if (event.getUserId() != null) {
+                        latestByUser.put(event.getUserId(), event);
+                    }
+                }
+            }
+
+            List<PhonePlanEvent> latest = new ArrayList<>(latestByUser.values());
+            if (atomicCheckpointWriter.isEnabled()) {
+                // 반영과 배치의 마지막 위치를 한 트랜잭션으로 커밋합니다.
+                int applied = deadLetterService.applyAllOrPark(latest, atomicCheckpointWriter.checkpointFor(
+                        batchContext.getPartitionContext(), messages.get(messages.size() - 1)));
+                countApplied(received, latest.size() - applied);
+            } else {
+                int applied = deadLetterService.applyAllOrPark(latest);
+                countApplied(received, latest.size() - applied);
+                checkpointCoordinator.record(batchContext, received);
+            }
+            projectionSnapshotService.markApplied(batchContext.getPartitionContext(), messages.get(messages.size() - 1));
+            log.debug("Plan event batch processed: partition={}, messages={}, events={}, users={}",
+                    partitionId, messages.size(), received, latestByUser.size());
         } catch (Exception e) {
-            log.error("Error parsing plan event: {}", e.getMessage(), e);
-            return null;
+            log.error("Failed to process plan event batch, restarting partition from the last checkpoint: partition={}, messages={}, error={}",
+                    partitionId, messages.size(), e.getMessage(), e);
+            eventErrors.incrementAndGet();
+            // 처리하지도 보류하지도 못한 이벤트가 있으므로 이후 메시지가 체크포인트를 전진시키지 않도록 파티션을 멈춥니다.
+            throw new EventProcessingException("Failed to process plan event batch on partition " + partitionId, e);
         }
     }
 
-    private void processUserEvent(PhonePlanEvent event) {
-        try {
-            retryTemplate.execute(context -> {
-                PhonePlanView view = getOrCreatePhonePlanView(event.getUserId());
-                updateViewFromEvent(view, event);
-                PhonePlanView savedView = phonePlanViewRepository.save(view);
-                log.info("***** Plan event processed result - userId: {}, planName: {}, dataAllowance: {}, callMinutes: {}, messageCount: {}",
-                        savedView.getUserId(), savedView.getPlanName(), savedView.getDataAllowance(),
-                        savedView.getCallMinutes(), savedView.getMessageCount());  // 추가
-                return null;
-            });
-        } catch (Exception e) {
-            log.error("Error processing plan event for userId={}: {}",
-                    event.getUserId(), e.getMessage(), e);
-            throw new EventProcessingException("Failed to process plan event", e);
+    /**
+     * key-ordered 모드에서 배치의 이벤트를 사용자별 레인으로 나눠 반영합니다.
+     * 체크포인트는 배치의 이벤트가 모두 반영되고 앞선 배치도 완료된 뒤에 등록됩니다.
+     */
+    public void dispatchBatch(EventBatchContext batchContext) {
+        keyOrderedDispatcher.checkFailure(batchContext.getPartitionContext());
+        List<EventData> messages = skipReplayed(batchContext.getPartitionContext(), batchContext.getEvents());
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        List<KeyOrderedDispatcher.KeyedTask> tasks = new ArrayList<>();
+        for (EventData eventData : messages) {
+            for (PhonePlanEvent event : parseEvents(eventData)) {
+                tasks.add(new KeyOrderedDispatcher.KeyedTask(event.getUserId(), () -> applyEvent(event)));
+            }
+        }
+        EventData last = messages.get(messages.size() - 1);
+        keyOrderedDispatcher.dispatch(batchContext.getPartitionContext(), last.getSequenceNumber(), tasks, () -> {
+            projectionSnapshotService.markApplied(batchContext.getPartitionContext(), last);
+            batchContext.updateCheckpoint();
+        });
+    }
+
+    private void countApplied(int received, int parked) {
+        eventsProcessed.addAndGet(received - parked);
+        eventErrors.addAndGet(parked);
+    }
+
+    /**
+     * 스냅샷 복원 후 재처리 구간에 있는 앞쪽 메시지를 {@link ProjectionSnapshotService#replay}로 처리하고 나머지를 반환합니다.
+     * 이 구간은 MongoDB에 이미 반영되어 있으므로 조회 모델에 다시 쓰지 않습니다.
+     */
+    private List<EventData> skipReplayed(PartitionContext partitionContext, List<EventData> messages) {
+        int live = 0;
+        while (live < messages.size() && projectionSnapshotService.isReplay(partitionContext, messages.get(live))) {
+            live++;
         }
+        if (live == 0) {
+            return messages;
+        }
+        Set<String> userIds = new HashSet<>();
+        for (EventData eventData : messages.subList(0, live)) {
+            try {
+                for (PhonePlanEvent event : eventCodec.decodeAll(eventData.getBody(), eventData.getContentType(), PhonePlanEvent.class)) {
+                    userIds.add(event.getUserId());
+                }
+            } catch (Exception e) {
+                // 처음 처리할 때 이미 보류한 메시지입니다.
+                log.debug("Skipping unreadable replayed message: sequenceNumber={}", eventData.getSequenceNumber());
+            }
+        }
+        projectionSnapshotService.replay(partitionContext, messages.get(live - 1), userIds);
+        return messages.subList(live, messages.size());
     }
 
-    private PhonePlanView getOrCreatePhonePlanView(String userId) {
-        PhonePlanView view = phonePlanViewRepository.findByUserId(userId);
-        if (view == null) {
-            view = new PhonePlanView();
-            view.setUserId(userId);
-            log.debug("Creating new PhonePlanView for userId={}", userId);
+    private void applyEvent(PhonePlanEvent event) {
+        if (deadLetterService.applyOrPark(event)) {
+            eventsProcessed.incrementAndGet();
+            log.debug("Plan event processed successfully: userId={}", event.getUserId());
+        } else {
+            eventErrors.incrementAndGet();
         }
-        return view;
     }
 
-    private void updateViewFromEvent(PhonePlanView view, PhonePlanEvent event) {
-        view.setPlanName(event.getPlanName());
-        view.setDataAllowance(event.getDataAllowance());
-        view.setCallMinutes(event.getCallMinutes());
-        view.setMessageCount(event.getMessageCount());
-        view.setMonthlyFee(event.getMonthlyFee());
-        view.setStatus(event.getStatus());
+    /**
+     * 메시지 본문을 해석합니다. 해석하지 못한 메시지는 원본 그대로 보류하고 빈 목록을 반환합니다.
+     */
+    private List<PhonePlanEvent> parseEvents(EventData eventData) {
+        try {
+            return eventCodec.decodeAll(eventData.getBody(), eventData.getContentType(), PhonePlanEvent.class);
+        } catch (Exception e) {
+            log.error("Error parsing plan event, parking message: sequenceNumber={}, error={}",
+                    eventData.getSequenceNumber(), e.getMessage());
+            deadLetterService.parkUnreadable(EventHubConstants.EVENT_TYPE_PLAN,
+                    eventData.getContentType(), eventData.getBody(), e);
+            eventErrors.incrementAndGet();
+            return List.of();
+        }
     }
 
     public void processError(ErrorContext errorContext) {
@@ -0,0 +1,192 @@
+package com.telecom.cqrs.query.event;
+
+import com.telecom.cqrs.common.event.PhonePlanEvent;
+import com.telecom.cqrs.common.event.UsageDeltaEvent;
+import com.telecom.cqrs.common.event.UsageUpdatedEvent;
+import com.telecom.cqrs.query.domain.PhonePlanView;
+import com.telecom.cqrs.query.mapper.PhonePlanMapper;
+import com.telecom.cqrs.query.service.PhonePlanProjectionStore;
+import com.telecom.cqrs.query.service.PhonePlanViewCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 이벤트를 조회 모델에 반영합니다. 재시도 없이 한 번만 시도하며, 실패는 호출한 쪽에서 처리합니다.
+ * 이벤트 핸들러와 보류 이벤트 재처리가 같은 반영 로직을 사용합니다.
+ * 단건 반영은 MongoDB가 반환한 갱신 후 도큐먼트를 {@link PhonePlanViewCache}와 메모리 조회 모드의 {@link PhonePlanProjectionStore}에
+ * 그대로 기록하므로 버전과 내용이 MongoDB와 같습니다. bulk 반영은 결과 도큐먼트를 받을 수 없으므로 관련 항목을 다시 적재합니다.
+ */
+@Slf4j
+@Component
+public class PhonePlanViewProjector {
+    private final MongoTemplate mongoTemplate;
+    private final PhonePlanViewCache cache;
+    private final PhonePlanProjectionStore projectionStore;
+    private final PhonePlanMapper mapper;
+
+    public PhonePlanViewProjector(
+            MongoTemplate mongoTemplate,
+            PhonePlanViewCache cache,
+            PhonePlanProjectionStore projectionStore,
+            PhonePlanMapper mapper) {
+        this.mongoTemplate = mongoTemplate;
+        this.cache = cache;
+        this.projectionStore = projectionStore;
+        this.mapper = mapper;
+    }
+
+    /**
+     * 이벤트 하나를 한 번의 MongoDB 호출로 반영합니다.
+     */
+    public void apply(Object event) {
+        if (event instanceof PhonePlanEvent planEvent) {
+            applyPlan(planEvent);
+        } else if (event instanceof UsageUpdatedEvent usageEvent) {
+            applyUsage(usageEvent);
+        } else if (event instanceof UsageDeltaEvent deltaEvent) {
+            applyDelta(deltaEvent);
+        } else {
+            throw new IllegalArgumentException("지원되지 않는 이벤트 타입입니다: " + event.getClass().getSimpleName());
+        }
+    }
+
+    /**
+     * 여러 이벤트를 한 번의 비순차 bulk 쓰기로 반영합니다.
+     * 요금제 이벤트는 upsert, 사용량과 증가분 이벤트는 조회 모델이 있을 때만 갱신합니다.
+     */
+    public void applyAll(List<?> events) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, PhonePlanView.class);
+        int operations = 0;
+        for (Object event : events) {
+            if (event instanceof PhonePlanEvent planEvent) {
+                bulk.upsert(PhonePlanViewUpdates.byUserId(planEvent.getUserId()), PhonePlanViewUpdates.planUpdate(planEvent));
+                operations++;
+            } else if (event instanceof UsageUpdatedEvent usageEvent) {
+                operations += addUpdate(bulk, PhonePlanViewUpdates.byUserId(usageEvent.getUserId()),
+                        PhonePlanViewUpdates.usageUpdate(usageEvent));
+            } else if (event instanceof UsageDeltaEvent deltaEvent) {
+                operations += addUpdate(bulk, PhonePlanViewUpdates.deltaQuery(deltaEvent),
+                        PhonePlanViewUpdates.deltaUpdate(deltaEvent));
+            } else {
+                throw new IllegalArgumentException("지원되지 않는 이벤트 타입입니다: " + event.getClass().getSimpleName());
+            }
+        }
+        if (operations == 0) {
+            return;
+        }
+        try {
+            bulk.execute();
+        } catch (RuntimeException e) {
+            // 일부 연산만 반영되었을 수 있으므로 관련 캐시 항목을 모두 버리고 메모리 저장소는 다시 읽습니다.
+            Set<String> userIds = new HashSet<>();
+            for (Object event : events) {
+                cache.invalidate(getUserId(event));
+                userIds.add(getUserId(event));
+            }
+            projectionStore.refresh(userIds);
+            throw e;
+        }
+        // bulk 결과로는 갱신 후 도큐먼트와 버전을 알 수 없으므로 관련 항목을 버리고 다시 적재합니다.
+        Set<String> userIds = new HashSet<>();
+        for (Object event : events) {
+            cache.invalidate(getUserId(event));
+            userIds.add(getUserId(event));
+        }
+        projectionStore.refresh(userIds);
+    }
+
+    private String getUserId(Object event) {
+        if (event instanceof PhonePlanEvent planEvent) {
+            return planEvent.getUserId();
+        }
+        if (event instanceof UsageUpdatedEvent usageEvent) {
+            return usageEvent.getUserId();
+        }
+        return ((UsageDeltaEvent) event).getUserId();
+    }
+
+    private int addUpdate(BulkOperations bulk, Query query, Update update) {
+        if (update.getUpdateObject().isEmpty()) {
+            return 0;
+        }
+        bulk.updateOne(query, update);
+        return 1;
+    }
+
+    /**
+     * 요금제 필드만 {@code $set}으로 upsert합니다. 사용량 필드는 건드리지 않으므로 사용량 처리와 서로 덮어쓰지 않습니다.
+     */
+    private void applyPlan(PhonePlanEvent event) {
+        PhonePlanView latest = mongoTemplate.findAndModify(
+                PhonePlanViewUpdates.withResponseFields(PhonePlanViewUpdates.byUserId(event.getUserId())),
+                PhonePlanViewUpdates.planUpdate(event),
+                FindAndModifyOptions.options().returnNew(true).upsert(true),
+                PhonePlanView.class);
+        applyLatest(latest);
+        log.info("***** Plan event processed result - userId: {}, planName: {}, dataAllowance: {}, callMinutes: {}, messageCount: {}, version: {}",
+                event.getUserId(), event.getPlanName(), event.getDataAllowance(),
+                event.getCallMinutes(), event.getMessageCount(), latest != null ? latest.getVersion() : null);
+    }
+
+    /**
+     * 이벤트에 값이 있는 사용량 필드만 {@code $set}으로 갱신합니다. 조회 모델이 없으면 건너뜁니다.
+     */
+    private void applyUsage(UsageUpdatedEvent event) {
+        Update update = PhonePlanViewUpdates.usageUpdate(event);
+        if (update.getUpdateObject().isEmpty()) {
+            return;
+        }
+        PhonePlanView latest = mongoTemplate.findAndModify(
+                PhonePlanViewUpdates.withResponseFields(PhonePlanViewUpdates.byUserId(event.getUserId())),
+                update,
+                FindAndModifyOptions.options().returnNew(true),
+                PhonePlanView.class);
+        if (latest == null) {
+            log.warn("No PhonePlanView found for userId={}, skipping usage update", event.getUserId());
+        } else {
+            applyLatest(latest);
+            log.info("***** Usage event processed result - userId: {}, dataUsage: {}, callUsage: {}, messageUsage: {}",
+                    event.getUserId(), event.getDataUsage(),
+                    event.getCallUsage(), event.getMessageUsage());
+        }
+    }
+
+    /**
+     * 증가분을 {@code $inc}로 더합니다. 조회 모델이 없거나 이미 반영한 이벤트면 아무것도 바꾸지 않습니다.
+     */
+    private void applyDelta(UsageDeltaEvent event) {
+        PhonePlanView latest = mongoTemplate.findAndModify(
+                PhonePlanViewUpdates.withResponseFields(PhonePlanViewUpdates.deltaQuery(event)),
+                PhonePlanViewUpdates.deltaUpdate(event),
+                FindAndModifyOptions.options().returnNew(true),
+                PhonePlanView.class);
+        if (latest == null) {
+            log.debug("Usage delta skipped (no view or already applied): userId={}, eventId={}",
+                    event.getUserId(), event.getEventId());
+            // 스냅샷 이후 재처리되는 증가분은 MongoDB에만 반영되어 있을 수 있으므로 메모리 저장소를 다시 읽습니다.
+            projectionStore.refresh(List.of(event.getUserId()));
+        } else {
+            applyLatest(latest);
+        }
+    }
+
+    /**
+     * 갱신 후 도큐먼트를 캐시와 메모리 저장소에 기록합니다. 버전을 직접 세지 않으므로 MongoDB와 어긋나지 않습니다.
+     */
+    private void applyLatest(PhonePlanView latest) {
+        if (latest == null) {
+            return;
+        }
+        cache.applyLatest(mapper.toDto(latest));
+        projectionStore.applyLatest(latest);
+    }
+}
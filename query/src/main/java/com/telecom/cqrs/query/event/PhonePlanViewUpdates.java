@@ -0,0 +1,115 @@
+package com.telecom.cqrs.query.event;
+
+import com.telecom.cqrs.common.event.PhonePlanEvent;
+import com.telecom.cqrs.common.event.UsageDeltaEvent;
+import com.telecom.cqrs.common.event.UsageUpdatedEvent;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+/**
+ * 이벤트를 조회 모델({@code phone_plan_views})에 대한 MongoDB 조건과 갱신 연산으로 변환합니다.
+ * 단건 처리와 배치 처리가 같은 연산을 사용하도록 이벤트 핸들러에서 공유합니다.
+ */
+final class PhonePlanViewUpdates {
+    // 도큐먼트에 남겨 둘 최근 증가분 이벤트 ID 수입니다.
+    static final int APPLIED_DELTA_WINDOW = 100;
+    // 갱신마다 1씩 증가시키는 조회 모델 버전 필드입니다.
+    static final String VERSION = "version";
+
+    private PhonePlanViewUpdates() {}
+
+    static Query byUserId(String userId) {
+        return Query.query(Criteria.where("userId").is(userId));
+    }
+
+    /**
+     * 갱신 후 도큐먼트를 돌려받을 때 조회 응답에 필요한 필드와 버전만 읽도록 조건에 projection을 더합니다.
+     */
+    static Query withResponseFields(Query query) {
+        query.fields()
+                .include("userId", "planName", "dataAllowance", "callMinutes", "messageCount", "monthlyFee",
+                        "dataUsage", "callUsage", "messageUsage", VERSION)
+                .exclude("_id");
+        return query;
+    }
+
+    /**
+     * 요금제 이벤트에 담긴 요금제 필드만 덮어씁니다. 사용량 필드는 포함하지 않습니다.
+     */
+    static Update planUpdate(PhonePlanEvent event) {
+        Update update = new Update()
+                .set("dataAllowance", event.getDataAllowance())
+                .set("callMinutes", event.getCallMinutes())
+                .set("messageCount", event.getMessageCount())
+                .set("monthlyFee", event.getMonthlyFee());
+        if (event.getPlanName() != null) {
+            update.set("planName", event.getPlanName());
+        }
+        if (event.getStatus() != null) {
+            update.set("status", event.getStatus());
+        }
+        return update.inc(VERSION, 1);
+    }
+
+    /**
+     * 사용량 이벤트에 값이 있는 항목만 덮어씁니다.
+     */
+    static Update usageUpdate(UsageUpdatedEvent event) {
+        Update update = new Update();
+        if (event.getDataUsage() != null) {
+            update.set("dataUsage", event.getDataUsage());
+        }
+        if (event.getCallUsage() != null) {
+            update.set("callUsage", event.getCallUsage());
+        }
+        if (event.getMessageUsage() != null) {
+            update.set("messageUsage", event.getMessageUsage());
+        }
+        // 바꿀 항목이 없으면 빈 갱신으로 두어 호출한 쪽에서 건너뛰게 합니다.
+        return update.getUpdateObject().isEmpty() ? update : update.inc(VERSION, 1);
+    }
+
+    /**
+     * 이미 반영한 증가분 이벤트는 일치하지 않도록 최근 이벤트 ID 목록을 조건에 포함합니다.
+     */
+    static Query deltaQuery(UsageDeltaEvent event) {
+        Criteria criteria = Criteria.where("userId").is(event.getUserId());
+        if (event.getEventId() != null) {
+            criteria = criteria.and("appliedDeltaIds").ne(event.getEventId());
+        }
+        return Query.query(criteria);
+    }
+
+    static Update deltaUpdate(UsageDeltaEvent event) {
+        Update update = new Update();
+        if (event.getDataUsage() != null) {
+            update.inc("dataUsage", event.getDataUsage());
+        }
+        if (event.getCallUsage() != null) {
+            update.inc("callUsage", event.getCallUsage());
+        }
+        if (event.getMessageUsage() != null) {
+            update.inc("messageUsage", event.getMessageUsage());
+        }
+        if (event.getEventId() != null) {
+            update.push("appliedDeltaIds").slice(-APPLIED_DELTA_WINDOW).each(event.getEventId());
+        }
+        return update.getUpdateObject().isEmpty() ? update : update.inc(VERSION, 1);
+    }
+
+    /**
+     * 같은 사용자의 사용량 이벤트 두 개를 하나로 합칩니다. 나중 이벤트의 값이 우선하고 비어 있는 항목은 이전 값을 유지합니다.
+     */
+    static UsageUpdatedEvent mergeUsage(UsageUpdatedEvent previous, UsageUpdatedEvent latest) {
+        return UsageUpdatedEvent.builder()
+                .eventId(latest.getEventId())
+                .eventType(latest.getEventType())
+                .userId(latest.getUserId())
+                .dataUsage(latest.getDataUsage() != null ? latest.getDataUsage() : previous.getDataUsage())
+                .callUsage(latest.getCallUsage() != null ? latest.getCallUsage() : previous.getCallUsage())
+                .messageUsage(latest.getMessageUsage() != null ? latest.getMessageUsage() : previous.getMessageUsage())
+                .timestamp(latest.getTimestamp())
+                .build();
+    }
+}
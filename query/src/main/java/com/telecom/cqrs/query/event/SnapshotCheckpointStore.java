@@ -0,0 +1,73 @@
+package com.telecom.cqrs.query.event;
+
+import com.azure.messaging.eventhubs.CheckpointStore;
+import com.azure.messaging.eventhubs.models.Checkpoint;
+import com.azure.messaging.eventhubs.models.PartitionOwnership;
+import com.telecom.cqrs.query.service.PartitionPosition;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 스냅샷에서 복원한 파티션은 스냅샷이 담고 있는 위치부터 소비하도록 체크포인트를 바꿔 반환하는 {@link CheckpointStore}입니다.
+ *
+ * <p>스냅샷 위치는 파티션마다 처음 조회될 때 한 번만 사용하며, 이후 조회와 소유권, 체크포인트 기록은 원래 저장소에 위임합니다.
+ * 저장된 체크포인트가 스냅샷보다 앞서 있으면 그 사이의 이벤트가 다시 전달됩니다. 이 구간은 MongoDB에 이미 반영되어 있으므로
+ * 이벤트 핸들러는 {@link com.telecom.cqrs.query.service.ProjectionSnapshotService#isReplay}로 구분해 메모리 저장소만 맞춥니다.</p>
+ */
+@Slf4j
+public class SnapshotCheckpointStore implements CheckpointStore {
+    private final CheckpointStore delegate;
+    private final Map<String, PartitionPosition> snapshotPositions = new ConcurrentHashMap<>();
+
+    public SnapshotCheckpointStore(CheckpointStore delegate, List<PartitionPosition> positions) {
+        this.delegate = delegate;
+        for (PartitionPosition position : positions) {
+            snapshotPositions.put(position.key(), position);
+        }
+    }
+
+    @Override
+    public Flux<PartitionOwnership> listOwnership(String fullyQualifiedNamespace, String eventHubName,
+                                                  String consumerGroup) {
+        return delegate.listOwnership(fullyQualifiedNamespace, eventHubName, consumerGroup);
+    }
+
+    @Override
+    public Flux<PartitionOwnership> claimOwnership(List<PartitionOwnership> requestedPartitionOwnerships) {
+        return delegate.claimOwnership(requestedPartitionOwnerships);
+    }
+
+    @Override
+    public Flux<Checkpoint> listCheckpoints(String fullyQualifiedNamespace, String eventHubName,
+                                            String consumerGroup) {
+        return delegate.listCheckpoints(fullyQualifiedNamespace, eventHubName, consumerGroup)
+                .map(checkpoint -> {
+                    PartitionPosition position = snapshotPositions.remove(PartitionPosition.key(
+                            fullyQualifiedNamespace, eventHubName, consumerGroup, checkpoint.getPartitionId()));
+                    if (position == null) {
+                        return checkpoint;
+                    }
+                    log.info("Resuming from snapshot position: hub={}, partition={}, sequenceNumber={}, stored={}",
+                            eventHubName, checkpoint.getPartitionId(), position.sequenceNumber(),
+                            checkpoint.getSequenceNumber());
+                    return position.toCheckpoint();
+                })
+                .concatWith(Flux.defer(() -> Flux.fromIterable(snapshotPositions.values())
+                        .filter(position -> position.key().startsWith(PartitionPosition.key(
+                                fullyQualifiedNamespace, eventHubName, consumerGroup, "")))
+                        .map(position -> {
+                            snapshotPositions.remove(position.key());
+                            return position.toCheckpoint();
+                        })));
+    }
+
+    @Override
+    public Mono<Void> updateCheckpoint(Checkpoint checkpoint) {
+        return delegate.updateCheckpoint(checkpoint);
+    }
+}
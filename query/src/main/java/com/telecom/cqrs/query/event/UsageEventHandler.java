@@ -1,40 +1,73 @@
 package com.telecom.cqrs.query.event;
 
+import com.azure.messaging.eventhubs.EventData;
 import com.azure.messaging.eventhubs.EventProcessorClient;
 import com.azure.messaging.eventhubs.models.ErrorContext;
+import com.azure.messaging.eventhubs.models.EventBatchContext;
 import com.azure.messaging.eventhubs.models.EventContext;
+import com.azure.messaging.eventhubs.models.PartitionContext;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.telecom.cqrs.common.constant.EventHubConstants;
+import com.telecom.cqrs.common.event.EventCodec;
+import com.telecom.cqrs.common.event.UsageDeltaEvent;
 import com.telecom.cqrs.common.event.UsageUpdatedEvent;
-import com.telecom.cqrs.query.domain.PhonePlanView;
 import com.telecom.cqrs.query.exception.EventProcessingException;
-import com.telecom.cqrs.query.repository.PhonePlanViewRepository;
+import com.telecom.cqrs.query.service.DeadLetterService;
+import com.telecom.cqrs.query.service.ProjectionSnapshotService;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.retry.support.RetryTemplate;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.retry.annotation.Retryable;
 import org.springframework.retry.annotation.Backoff;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 
+/**
+ * 사용량 허브의 이벤트를 조회 모델에 반영합니다.
+ *
+ * <p>{@code type} 속성이 {@link EventHubConstants#EVENT_TYPE_USAGE_DELTA}인 메시지는 증가분 이벤트로,
+ * 조회 없이 MongoDB {@code $inc}로 더합니다. 증가분끼리는 순서와 무관하게 같은 결과가 되고 사용량 이벤트와는 수신 순서대로 반영하며,
+ * 최근 적용한 이벤트 ID를 도큐먼트에 남겨 재전달된 이벤트는 한 번만 반영합니다.</p>
+ *
+ * <p>배치 수신({@link #acceptBatch})에서는 같은 종류의 메시지가 이어진 구간마다 한 번의 비순차 bulk 쓰기를 수행합니다.
+ * 사용량 이벤트는 사용자별로 합쳐 하나의 {@code $set}으로, 증가분 이벤트는 이벤트마다 {@code $inc}로 기록합니다.</p>
+ *
+ * <p>반영에 실패한 이벤트는 재시도로 파티션을 멈추지 않고 {@link DeadLetterService}에 보류한 뒤 다음 이벤트로 넘어갑니다.
+ * 보류조차 실패하면(보류 컬렉션도 같은 MongoDB에 있으므로) 예외를 콜백 밖으로 던져 위치가 전진하지 않게 하고,
+ * 이벤트 프로세서가 파티션을 닫은 뒤 마지막 체크포인트부터 다시 처리하도록 합니다.</p>
+ */
 @Slf4j
 @Service
 public class UsageEventHandler implements Consumer<EventContext> {
-    private final PhonePlanViewRepository phonePlanViewRepository;
-    private final ObjectMapper objectMapper;
-    private final RetryTemplate retryTemplate;
+    private final EventCodec eventCodec;
+    private final DeadLetterService deadLetterService;
+    private final CheckpointCoordinator checkpointCoordinator;
+    private final KeyOrderedDispatcher keyOrderedDispatcher;
+    private final AtomicCheckpointWriter atomicCheckpointWriter;
+    private final ProjectionSnapshotService projectionSnapshotService;
     private final AtomicLong eventsProcessed = new AtomicLong(0);
     private final AtomicLong eventErrors = new AtomicLong(0);
     private EventProcessorClient eventProcessorClient;
 
     public UsageEventHandler(
-            PhonePlanViewRepository phonePlanViewRepository,
             ObjectMapper objectMapper,
-            RetryTemplate retryTemplate) {
-        this.phonePlanViewRepository = phonePlanViewRepository;
-        this.objectMapper = objectMapper;
-        this.retryTemplate = retryTemplate;
+            DeadLetterService deadLetterService,
+            CheckpointCoordinator checkpointCoordinator,
+            KeyOrderedDispatcher keyOrderedDispatcher,
+            AtomicCheckpointWriter atomicCheckpointWriter,
+            ProjectionSnapshotService projectionSnapshotService) {
+        this.eventCodec = new EventCodec(objectMapper);
+        this.deadLetterService = deadLetterService;
+        this.checkpointCoordinator = checkpointCoordinator;
+        this.keyOrderedDispatcher = keyOrderedDispatcher;
+        this.atomicCheckpointWriter = atomicCheckpointWriter;
+        this.projectionSnapshotService = projectionSnapshotService;
     }
 
     public void setEventProcessorClient(EventProcessorClient client) {
@@ -60,78 +93,216 @@ public class UsageEventHandler implements Consumer<EventContext> {
     }
 
     @Override
-    @Transactional
     public void accept(EventContext eventContext) {
-        String eventData = eventContext.getEventData().getBodyAsString();
+        EventData eventData = eventContext.getEventData();
         String partitionId = eventContext.getPartitionContext().getPartitionId();
-        log.info("***** Received usage event: {}", eventData);
+
+        if (skipReplayed(eventContext.getPartitionContext(), List.of(eventData)).isEmpty()) {
+            return;
+        }
+
         try {
-            log.debug("Processing usage event: partition={}, offset={}, data={}",
+            log.debug("Processing usage event: partition={}, offset={}, contentType={}",
                     partitionId,
-                    eventContext.getEventData().getSequenceNumber(),
-                    eventData);
-
-            UsageUpdatedEvent event = parseEvent(eventData);
-            if (event != null) {
-                processUserEvent(event);
-                eventsProcessed.incrementAndGet();
-                eventContext.updateCheckpoint();
-                log.debug("Usage event processed successfully: userId={}", event.getUserId());
+                    eventData.getSequenceNumber(),
+                    eventData.getContentType());
+
+            List<?> events = parseEvents(eventData);
+            if (atomicCheckpointWriter.isEnabled()) {
+                // 메시지의 이벤트와 메시지 위치를 한 트랜잭션으로 커밋합니다.
+                int applied = deadLetterService.applyAllOrPark(events,
+                        atomicCheckpointWriter.checkpointFor(eventContext.getPartitionContext(), eventData));
+                eventsProcessed.addAndGet(applied);
+                eventErrors.addAndGet(events.size() - applied);
+                projectionSnapshotService.markApplied(eventContext.getPartitionContext(), eventData);
+                return;
+            }
+            for (Object event : events) {
+                log.info("***** Received usage event: {}", event);
+                applyEvent(event);
             }
+            // 실패한 이벤트는 보류되었으므로 메시지 단위로 위치를 기록합니다.
+            projectionSnapshotService.markApplied(eventContext.getPartitionContext(), eventData);
+            checkpointCoordinator.record(eventContext, events.size());
         } catch (Exception e) {
-            log.error("Failed to process usage event: partition={}, data={}, error={}",
-                    partitionId, eventData, e.getMessage(), e);
+            log.error("Failed to process usage event, restarting partition from the last checkpoint: partition={}, sequenceNumber={}, error={}",
+                    partitionId, eventData.getSequenceNumber(), e.getMessage(), e);
             eventErrors.incrementAndGet();
+            // 처리하지도 보류하지도 못한 이벤트가 있으므로 이후 메시지가 체크포인트를 전진시키지 않도록 파티션을 멈춥니다.
+            throw new EventProcessingException("Failed to process usage event on partition " + partitionId, e);
         }
     }
 
-    private UsageUpdatedEvent parseEvent(String eventData) {
+    /**
+     * 배치로 받은 사용량 이벤트를 반영하고 배치의 마지막 위치를 체크포인트 대상으로 등록합니다.
+     * 사용량 이벤트와 증가분 이벤트가 섞여 있으면 수신 순서대로 구간을 나눠 차례로 기록합니다.
+     */
+    public void acceptBatch(EventBatchContext batchContext) {
+        List<EventData> messages = skipReplayed(batchContext.getPartitionContext(), batchContext.getEvents());
+        if (messages.isEmpty()) {
+            return;
+        }
+        String partitionId = batchContext.getPartitionContext().getPartitionId();
+
         try {
-            return objectMapper.readValue(eventData, UsageUpdatedEvent.class);
+            int received = 0;
+            int index = 0;
+            while (index < messages.size()) {
+                boolean delta = isDeltaMessage(messages.get(index));
+                int end = index + 1;
+                while (end < messages.size() && isDeltaMessage(messages.get(end)) == delta) {
+                    end++;
+                }
+                // mongo 체크포인트 저장소를 쓰면 구간마다 반영과 구간의 마지막 위치를 한 트랜잭션으로 커밋합니다.
+                Runnable checkpoint = atomicCheckpointWriter.isEnabled()
+                        ? atomicCheckpointWriter.checkpointFor(batchContext.getPartitionContext(), messages.get(end - 1))
+                        : null;
+                received += applySegment(messages.subList(index, end), delta, checkpoint);
+                index = end;
+            }
+
+            projectionSnapshotService.markApplied(batchContext.getPartitionContext(), messages.get(messages.size() - 1));
+            if (!atomicCheckpointWriter.isEnabled()) {
+                checkpointCoordinator.record(batchContext, received);
+            }
+            log.debug("Usage event batch processed: partition={}, messages={}, events={}",
+                    partitionId, messages.size(), received);
         } catch (Exception e) {
-            log.error("Error parsing usage event: {}", e.getMessage(), e);
-            return null;
+            log.error("Failed to process usage event batch, restarting partition from the last checkpoint: partition={}, messages={}, error={}",
+                    partitionId, messages.size(), e.getMessage(), e);
+            eventErrors.incrementAndGet();
+            // 처리하지도 보류하지도 못한 이벤트가 있으므로 이후 메시지가 체크포인트를 전진시키지 않도록 파티션을 멈춥니다.
+            throw new EventProcessingException("Failed to process usage event batch on partition " + partitionId, e);
         }
     }
 
-    private void processUserEvent(UsageUpdatedEvent event) {
-        try {
-            retryTemplate.execute(context -> {
-                PhonePlanView view = getPhonePlanView(event.getUserId());
-                if (view != null) {
-                    updateViewFromEvent(view, event);
-                    PhonePlanView savedView = phonePlanViewRepository.save(view);
-                    log.info("***** Usage event processed result - userId: {}, dataUsage: {}, callUsage: {}, messageUsage: {}",
-                            savedView.getUserId(), savedView.getDataUsage(),
-                            savedView.getCallUsage(), savedView.getMessageUsage());  // 추가
+    /**
+     * key-ordered 모드에서 배치의 이벤트를 사용자별 레인으로 나눠 반영합니다.
+     * 체크포인트는 배치의 이벤트가 모두 반영되고 앞선 배치도 완료된 뒤에 등록됩니다.
+     */
+    public void dispatchBatch(EventBatchContext batchContext) {
+        keyOrderedDispatcher.checkFailure(batchContext.getPartitionContext());
+        List<EventData> messages = skipReplayed(batchContext.getPartitionContext(), batchContext.getEvents());
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        List<KeyOrderedDispatcher.KeyedTask> tasks = new ArrayList<>();
+        for (EventData eventData : messages) {
+            for (Object event : parseEvents(eventData)) {
+                tasks.add(new KeyOrderedDispatcher.KeyedTask(getUserId(event), () -> applyEvent(event)));
+            }
+        }
+        EventData last = messages.get(messages.size() - 1);
+        keyOrderedDispatcher.dispatch(batchContext.getPartitionContext(), last.getSequenceNumber(), tasks, () -> {
+            projectionSnapshotService.markApplied(batchContext.getPartitionContext(), last);
+            batchContext.updateCheckpoint();
+        });
+    }
+
+    private boolean isDeltaMessage(EventData eventData) {
+        return EventHubConstants.EVENT_TYPE_USAGE_DELTA.equals(eventData.getProperties().get("type"));
+    }
+
+    /**
+     * 같은 종류의 메시지 구간을 한 번의 bulk 쓰기로 반영합니다.
+     * 사용량 이벤트는 사용자별로 합치고, 증가분은 서로 교환 가능하므로 합치지 않고 이벤트마다 ID 조건과 함께 기록합니다.
+     *
+     * @param checkpoint 반영과 함께 커밋할 체크포인트 기록, 없으면 null
+     * @return 구간에 담겨 있던 이벤트 수
+     */
+    private int applySegment(List<EventData> segment, boolean delta, Runnable checkpoint) {
+        List<Object> events = new ArrayList<>();
+        Map<String, UsageUpdatedEvent> latestByUser = new LinkedHashMap<>();
+        int received = 0;
+        for (EventData eventData : segment) {
+            for (Object event : parseEvents(eventData)) {
+                received++;
+                if (delta) {
+                    events.add(event);
+                } else {
+                    UsageUpdatedEvent usageEvent = (UsageUpdatedEvent) event;
+                    if (usageEvent.getUserId() != null) {
+                        latestByUser.merge(usageEvent.getUserId(), usageEvent, PhonePlanViewUpdates::mergeUsage);
+                    }
                 }
-                return null;
-            });
-        } catch (Exception e) {
-            log.error("Error processing usage event for userId={}: {}",
-                    event.getUserId(), e.getMessage(), e);
-            throw new EventProcessingException("Failed to process usage event", e);
+            }
         }
+        if (!delta) {
+            events.addAll(latestByUser.values());
+        }
+
+        // 조회 모델이 없는 사용자는 단건 처리와 같이 건너뛰도록 upsert하지 않습니다.
+        int applied = checkpoint != null
+                ? deadLetterService.applyAllOrPark(events, checkpoint)
+                : deadLetterService.applyAllOrPark(events);
+        int parked = events.size() - applied;
+        eventsProcessed.addAndGet(received - parked);
+        eventErrors.addAndGet(parked);
+        return received;
     }
 
-    private PhonePlanView getPhonePlanView(String userId) {
-        PhonePlanView view = phonePlanViewRepository.findByUserId(userId);
-        if (view == null) {
-            log.warn("No PhonePlanView found for userId={}, skipping usage update", userId);
+    /**
+     * 스냅샷 복원 후 재처리 구간에 있는 앞쪽 메시지를 {@link ProjectionSnapshotService#replay}로 처리하고 나머지를 반환합니다.
+     * 이 구간은 MongoDB에 이미 반영되어 있으므로 조회 모델에 다시 쓰지 않습니다.
+     */
+    private List<EventData> skipReplayed(PartitionContext partitionContext, List<EventData> messages) {
+        int live = 0;
+        while (live < messages.size() && projectionSnapshotService.isReplay(partitionContext, messages.get(live))) {
+            live++;
+        }
+        if (live == 0) {
+            return messages;
+        }
+        Set<String> userIds = new HashSet<>();
+        for (EventData eventData : messages.subList(0, live)) {
+            try {
+                for (Object event : eventCodec.decodeAll(eventData.getBody(), eventData.getContentType(), isDeltaMessage(eventData) ? UsageDeltaEvent.class : UsageUpdatedEvent.class)) {
+                    userIds.add(getUserId(event));
+                }
+            } catch (Exception e) {
+                // 처음 처리할 때 이미 보류한 메시지입니다.
+                log.debug("Skipping unreadable replayed message: sequenceNumber={}", eventData.getSequenceNumber());
+            }
         }
-        return view;
+        projectionSnapshotService.replay(partitionContext, messages.get(live - 1), userIds);
+        return messages.subList(live, messages.size());
     }
 
-    private void updateViewFromEvent(PhonePlanView view, UsageUpdatedEvent event) {
-        if (event.getDataUsage() != null) {
-            view.setDataUsage(event.getDataUsage());
+    private void applyEvent(Object event) {
+        if (deadLetterService.applyOrPark(event)) {
+            eventsProcessed.incrementAndGet();
+            log.debug("Usage event processed successfully: userId={}", getUserId(event));
+        } else {
+            eventErrors.incrementAndGet();
         }
-        if (event.getCallUsage() != null) {
-            view.setCallUsage(event.getCallUsage());
+    }
+
+    /**
+     * 메시지 본문을 {@code type} 속성에 맞는 이벤트로 해석합니다.
+     * 해석하지 못한 메시지는 원본 그대로 보류하고 빈 목록을 반환합니다.
+     */
+    private List<?> parseEvents(EventData eventData) {
+        boolean delta = isDeltaMessage(eventData);
+        try {
+            return eventCodec.decodeAll(eventData.getBody(), eventData.getContentType(),
+                    delta ? UsageDeltaEvent.class : UsageUpdatedEvent.class);
+        } catch (Exception e) {
+            log.error("Error parsing usage event, parking message: sequenceNumber={}, error={}",
+                    eventData.getSequenceNumber(), e.getMessage());
+            deadLetterService.parkUnreadable(
+                    delta ? EventHubConstants.EVENT_TYPE_USAGE_DELTA : EventHubConstants.EVENT_TYPE_USAGE,
+                    eventData.getContentType(), eventData.getBody(), e);
+            eventErrors.incrementAndGet();
+            return List.of();
         }
-        if (event.getMessageUsage() != null) {
-            view.setMessageUsage(event.getMessageUsage());
+    }
+
+    private String getUserId(Object event) {
+        if (event instanceof UsageDeltaEvent deltaEvent) {
+            return deltaEvent.getUserId();
         }
+        return ((UsageUpdatedEvent) event).getUserId();
     }
 
     public void processError(ErrorContext errorContext) {
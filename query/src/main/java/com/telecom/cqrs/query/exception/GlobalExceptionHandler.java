@@ -21,6 +21,20 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(404).body(response);
     }
 
+    @ExceptionHandler(InvalidQueryException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidQuery(InvalidQueryException e) {
+        log.warn("Invalid query: {}", e.getMessage());
+        ErrorResponse response = new ErrorResponse("INVALID_REQUEST", e.getMessage());
+        return ResponseEntity.status(400).body(response);
+    }
+
+    @ExceptionHandler(QueryTimeoutException.class)
+    public ResponseEntity<ErrorResponse> handleQueryTimeout(QueryTimeoutException e) {
+        log.warn("Query timed out: {}", e.getMessage());
+        ErrorResponse response = new ErrorResponse("SERVICE_UNAVAILABLE", e.getMessage());
+        return ResponseEntity.status(503).body(response);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGenericError(Exception e) {
         log.error("Unexpected error occurred: ", e);  // 스택 트레이스와 함께 로그 출력
@@ -0,0 +1,10 @@
+package com.telecom.cqrs.query.exception;
+
+/**
+ * 조회 요청이 올바르지 않을 때 발생하는 예외입니다.
+ */
+public class InvalidQueryException extends RuntimeException {
+    public InvalidQueryException(String message) {
+        super(message);
+    }
+}
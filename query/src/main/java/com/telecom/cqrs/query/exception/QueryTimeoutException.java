@@ -0,0 +1,10 @@
+package com.telecom.cqrs.query.exception;
+
+/**
+ * 조회가 제한 시간 안에 끝나지 않았을 때 발생하는 예외입니다.
+ */
+public class QueryTimeoutException extends RuntimeException {
+    public QueryTimeoutException(String message) {
+        super(message);
+    }
+}
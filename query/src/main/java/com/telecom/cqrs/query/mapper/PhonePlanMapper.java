@@ -28,6 +28,7 @@ public class PhonePlanMapper {
         response.setMessageCount(view.getMessageCount());
         response.setMessageUsage(view.getMessageUsage());
         response.setMonthlyFee(view.getMonthlyFee());
+        response.setVersion(view.getVersion() != null ? view.getVersion() : 0L);
 
         return response;
     }
@@ -0,0 +1,58 @@
+package com.telecom.cqrs.query.metrics;
+
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 체크포인트 기록 빈도와 재시작 시 다시 처리하게 될 범위(replay window)를 집계합니다.
+ */
+@Component
+public class CheckpointMetrics {
+    private final long startedAt = System.currentTimeMillis();
+
+    @Getter
+    private final AtomicLong checkpointsWritten = new AtomicLong(0);
+    @Getter
+    private final AtomicLong checkpointErrors = new AtomicLong(0);
+    @Getter
+    private final AtomicLong eventsCheckpointed = new AtomicLong(0);
+    // 아직 체크포인트되지 않은 이벤트 수(모든 파티션 합계)
+    @Getter
+    private final AtomicLong replayWindowEvents = new AtomicLong(0);
+    // 가장 오래된 미체크포인트 이벤트가 처리된 뒤 지난 시간(ms)
+    @Getter
+    private final AtomicLong replayWindowMillis = new AtomicLong(0);
+
+    public void recordCheckpoint(long events) {
+        checkpointsWritten.incrementAndGet();
+        eventsCheckpointed.addAndGet(events);
+    }
+
+    public void incrementCheckpointErrors() {
+        checkpointErrors.incrementAndGet();
+    }
+
+    public void updateReplayWindow(long events, long millis) {
+        replayWindowEvents.set(events);
+        replayWindowMillis.set(millis);
+    }
+
+    public double getCheckpointsPerSecond() {
+        long elapsed = Math.max(1, System.currentTimeMillis() - startedAt);
+        return checkpointsWritten.get() * 1000.0 / elapsed;
+    }
+
+    public String getMetricsSummary() {
+        return String.format(
+                "Metrics - Checkpoints (Written: %d, Errors: %d, Rate: %.2f/s, Events: %d, Replay Window: %d events / %d ms)",
+                checkpointsWritten.get(),
+                checkpointErrors.get(),
+                getCheckpointsPerSecond(),
+                eventsCheckpointed.get(),
+                replayWindowEvents.get(),
+                replayWindowMillis.get()
+        );
+    }
+}
@@ -0,0 +1,53 @@
+package com.telecom.cqrs.query.metrics;
+
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 보류(dead-letter) 이벤트의 건수와 보류 기간을 집계합니다.
+ */
+@Component
+public class DeadLetterMetrics {
+    @Getter
+    private final AtomicLong eventsParked = new AtomicLong(0);
+    @Getter
+    private final AtomicLong eventsResolved = new AtomicLong(0);
+    @Getter
+    private final AtomicLong retryFailures = new AtomicLong(0);
+    // 현재 보류 중인 이벤트 수
+    @Getter
+    private final AtomicLong parkedCount = new AtomicLong(0);
+    // 가장 오래 보류된 이벤트의 보류 기간(ms)
+    @Getter
+    private final AtomicLong oldestParkedAgeMillis = new AtomicLong(0);
+
+    public void incrementEventsParked() {
+        eventsParked.incrementAndGet();
+    }
+
+    public void incrementEventsResolved() {
+        eventsResolved.incrementAndGet();
+    }
+
+    public void incrementRetryFailures() {
+        retryFailures.incrementAndGet();
+    }
+
+    public void updateParked(long count, long oldestAgeMillis) {
+        parkedCount.set(count);
+        oldestParkedAgeMillis.set(oldestAgeMillis);
+    }
+
+    public String getMetricsSummary() {
+        return String.format(
+                "Metrics - Dead Letters (Parked: %d, Resolved: %d, Retry Failures: %d, Current: %d, Oldest Age: %d ms)",
+                eventsParked.get(),
+                eventsResolved.get(),
+                retryFailures.get(),
+                parkedCount.get(),
+                oldestParkedAgeMillis.get()
+        );
+    }
+}
@@ -0,0 +1,106 @@
+package com.telecom.cqrs.query.metrics;
+
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.github.benmanes.caffeine.cache.stats.StatsCounter;
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 요금제 조회 캐시의 적중률, 제거 건수, 조회 지연 시간과 이벤트 반영에 따른 갱신 건수를 집계합니다.
+ * 캐시의 {@link StatsCounter}로 등록되어 캐시가 직접 기록합니다.
+ */
+@Component
+public class PhonePlanCacheMetrics implements StatsCounter {
+    @Getter
+    private final AtomicLong hits = new AtomicLong(0);
+    @Getter
+    private final AtomicLong misses = new AtomicLong(0);
+    @Getter
+    private final AtomicLong loadSuccesses = new AtomicLong(0);
+    @Getter
+    private final AtomicLong loadFailures = new AtomicLong(0);
+    @Getter
+    private final AtomicLong totalLoadNanos = new AtomicLong(0);
+    @Getter
+    private final AtomicLong evictions = new AtomicLong(0);
+    @Getter
+    private final AtomicLong evictionWeight = new AtomicLong(0);
+    // 이벤트 반영으로 캐시 항목을 갱신한 횟수
+    @Getter
+    private final AtomicLong writeThroughs = new AtomicLong(0);
+    // 이벤트 반영으로 캐시 항목을 무효화한 횟수
+    @Getter
+    private final AtomicLong invalidations = new AtomicLong(0);
+
+    @Override
+    public void recordHits(int count) {
+        hits.addAndGet(count);
+    }
+
+    @Override
+    public void recordMisses(int count) {
+        misses.addAndGet(count);
+    }
+
+    @Override
+    public void recordLoadSuccess(long loadTime) {
+        loadSuccesses.incrementAndGet();
+        totalLoadNanos.addAndGet(loadTime);
+    }
+
+    @Override
+    public void recordLoadFailure(long loadTime) {
+        loadFailures.incrementAndGet();
+        totalLoadNanos.addAndGet(loadTime);
+    }
+
+    @Override
+    public void recordEviction(int weight, RemovalCause cause) {
+        evictions.incrementAndGet();
+        evictionWeight.addAndGet(weight);
+    }
+
+    @Override
+    public CacheStats snapshot() {
+        return CacheStats.of(hits.get(), misses.get(), loadSuccesses.get(), loadFailures.get(),
+                totalLoadNanos.get(), evictions.get(), evictionWeight.get());
+    }
+
+    public void incrementWriteThroughs() {
+        writeThroughs.incrementAndGet();
+    }
+
+    public void incrementInvalidations() {
+        invalidations.incrementAndGet();
+    }
+
+    public double getHitRatio() {
+        long requests = hits.get() + misses.get();
+        return requests == 0 ? 1.0 : (double) hits.get() / requests;
+    }
+
+    /**
+     * 캐시 미스 시 MongoDB 조회에 걸린 평균 시간(나노초)을 반환합니다.
+     */
+    public long getAverageLoadNanos() {
+        long loads = loadSuccesses.get() + loadFailures.get();
+        return loads == 0 ? 0 : totalLoadNanos.get() / loads;
+    }
+
+    public String getMetricsSummary() {
+        return String.format(
+                "Metrics - Plan Cache (Hits: %d, Misses: %d, Hit Ratio: %.3f, Avg Load: %dns, Evictions: %d, " +
+                        "Write-throughs: %d, Invalidations: %d)",
+                hits.get(),
+                misses.get(),
+                getHitRatio(),
+                getAverageLoadNanos(),
+                evictions.get(),
+                writeThroughs.get(),
+                invalidations.get()
+        );
+    }
+}
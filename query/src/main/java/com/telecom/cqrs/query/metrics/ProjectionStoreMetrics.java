@@ -0,0 +1,104 @@
+package com.telecom.cqrs.query.metrics;
+
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 메모리 조회 모드의 구독자 수, 메모리 사용량, 조회 지연 시간을 집계합니다.
+ * MongoDB 조회 지연 시간은 {@link PhonePlanCacheMetrics}의 적재 시간과 비교합니다.
+ */
+@Component
+public class ProjectionStoreMetrics {
+    @Getter
+    private final AtomicLong subscribers = new AtomicLong(0);
+    @Getter
+    private final AtomicLong offHeapBytes = new AtomicLong(0);
+    // userId 인덱스의 힙 사용량 추정치(바이트)
+    @Getter
+    private final AtomicLong indexBytes = new AtomicLong(0);
+    @Getter
+    private final AtomicLong planNames = new AtomicLong(0);
+    @Getter
+    private final AtomicLong reads = new AtomicLong(0);
+    @Getter
+    private final AtomicLong readNanos = new AtomicLong(0);
+    @Getter
+    private final AtomicLong writes = new AtomicLong(0);
+    // 반영 여부를 알 수 없어 MongoDB에서 다시 읽은 사용자 수
+    @Getter
+    private final AtomicLong refreshes = new AtomicLong(0);
+
+    @Getter
+    private final AtomicLong snapshotsWritten = new AtomicLong(0);
+    @Getter
+    private final AtomicLong snapshotErrors = new AtomicLong(0);
+    @Getter
+    private final AtomicLong lastSnapshotMillis = new AtomicLong(0);
+
+    public void recordRead(long elapsedNanos) {
+        reads.incrementAndGet();
+        readNanos.addAndGet(elapsedNanos);
+    }
+
+    public void incrementWrites() {
+        writes.incrementAndGet();
+    }
+
+    public void addRefreshes(long count) {
+        refreshes.addAndGet(count);
+    }
+
+    public void recordSnapshot(long elapsedMillis) {
+        snapshotsWritten.incrementAndGet();
+        lastSnapshotMillis.set(elapsedMillis);
+    }
+
+    public void incrementSnapshotErrors() {
+        snapshotErrors.incrementAndGet();
+    }
+
+    public void updateSize(long subscribers, long offHeapBytes, long indexBytes, long planNames) {
+        this.subscribers.set(subscribers);
+        this.offHeapBytes.set(offHeapBytes);
+        this.indexBytes.set(indexBytes);
+        this.planNames.set(planNames);
+    }
+
+    /**
+     * 구독자 한 명당 메모리 사용량(오프힙과 인덱스 합계, 바이트)을 반환합니다.
+     */
+    public long getBytesPerSubscriber() {
+        long count = subscribers.get();
+        return count == 0 ? 0 : (offHeapBytes.get() + indexBytes.get()) / count;
+    }
+
+    /**
+     * 평균 조회 지연 시간(나노초)을 반환합니다.
+     */
+    public long getAverageReadNanos() {
+        long count = reads.get();
+        return count == 0 ? 0 : readNanos.get() / count;
+    }
+
+    public String getMetricsSummary() {
+        return String.format(
+                "Metrics - Projection Store (Subscribers: %d, Plans: %d, Off-heap: %d bytes, Index: %d bytes, " +
+                        "Bytes/Subscriber: %d, Reads: %d, Avg Read: %dns, Writes: %d, Refreshes: %d, " +
+                        "Snapshots: %d, Snapshot Errors: %d, Last Snapshot: %d ms)",
+                subscribers.get(),
+                planNames.get(),
+                offHeapBytes.get(),
+                indexBytes.get(),
+                getBytesPerSubscriber(),
+                reads.get(),
+                getAverageReadNanos(),
+                writes.get(),
+                refreshes.get(),
+                snapshotsWritten.get(),
+                snapshotErrors.get(),
+                lastSnapshotMillis.get()
+        );
+    }
+}
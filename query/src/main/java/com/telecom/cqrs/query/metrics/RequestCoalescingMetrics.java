@@ -0,0 +1,51 @@
+package com.telecom.cqrs.query.metrics;
+
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 같은 사용자에 대한 동시 조회 합치기(single-flight) 결과를 집계합니다.
+ */
+@Component
+public class RequestCoalescingMetrics {
+    // MongoDB 조회를 직접 수행한 요청 수
+    @Getter
+    private final AtomicLong loads = new AtomicLong(0);
+    // 진행 중인 조회 결과를 함께 받은 요청 수
+    @Getter
+    private final AtomicLong coalescedRequests = new AtomicLong(0);
+    @Getter
+    private final AtomicLong timeouts = new AtomicLong(0);
+
+    public void incrementLoads() {
+        loads.incrementAndGet();
+    }
+
+    public void incrementCoalescedRequests() {
+        coalescedRequests.incrementAndGet();
+    }
+
+    public void incrementTimeouts() {
+        timeouts.incrementAndGet();
+    }
+
+    /**
+     * 전체 요청 중 합쳐진 요청의 비율을 반환합니다.
+     */
+    public double getCoalescingRatio() {
+        long total = loads.get() + coalescedRequests.get();
+        return total == 0 ? 0.0 : (double) coalescedRequests.get() / total;
+    }
+
+    public String getMetricsSummary() {
+        return String.format(
+                "Metrics - Request Coalescing (Loads: %d, Coalesced: %d, Ratio: %.3f, Timeouts: %d)",
+                loads.get(),
+                coalescedRequests.get(),
+                getCoalescingRatio(),
+                timeouts.get()
+        );
+    }
+}
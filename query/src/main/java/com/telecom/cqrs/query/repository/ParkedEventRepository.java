@@ -0,0 +1,25 @@
+package com.telecom.cqrs.query.repository;
+
+import com.telecom.cqrs.query.domain.ParkedEvent;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.List;
+
+/**
+ * 보류된 이벤트를 위한 MongoDB 레포지토리입니다.
+ */
+public interface ParkedEventRepository extends MongoRepository<ParkedEvent, String> {
+    /**
+     * 사용자의 보류 이벤트를 보류된 순서대로 조회합니다.
+     */
+    List<ParkedEvent> findByUserIdOrderByIdAsc(String userId);
+
+    /**
+     * 사용자 ID 없이 보류된(본문을 해석하지 못한) 이벤트를 조회합니다.
+     */
+    List<ParkedEvent> findByUserIdIsNullOrderByIdAsc();
+
+    boolean existsByUserId(String userId);
+
+    ParkedEvent findFirstByOrderByIdAsc();
+}
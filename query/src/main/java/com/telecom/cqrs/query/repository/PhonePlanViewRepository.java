@@ -2,15 +2,33 @@ package com.telecom.cqrs.query.repository;
 
 import com.telecom.cqrs.query.domain.PhonePlanView;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+
+import java.util.Collection;
+import java.util.stream.Stream;
 
 /**
  * 요금제 조회를 위한 MongoDB 레포지토리입니다.
  */
 public interface PhonePlanViewRepository extends MongoRepository<PhonePlanView, String> {
     /**
-     * 사용자 ID로 요금제 정보를 조회합니다.
+     * 사용자 ID로 요금제 정보를 조회합니다. 일괄 조회와 같이 조회용 복합 인덱스만으로 응답합니다.
      * @param userId 조회할 사용자 ID
      * @return 요금제 정보. 없으면 null 반환
      */
+    @Query(value = "{ 'userId': ?0 }",
+            fields = "{ '_id': 0, 'userId': 1, 'planName': 1, 'dataAllowance': 1, 'callMinutes': 1, " +
+                    "'messageCount': 1, 'monthlyFee': 1, 'dataUsage': 1, 'callUsage': 1, 'messageUsage': 1, 'version': 1 }")
     PhonePlanView findByUserId(String userId);
-}
\ No newline at end of file
+
+    /**
+     * 여러 사용자의 요금제 정보를 한 번의 {@code $in} 조회로 스트리밍합니다.
+     * 조회 필드가 모두 조회용 복합 인덱스에 있고 {@code _id}를 제외하므로 도큐먼트를 읽지 않고 인덱스만으로 응답합니다.
+     * @param userIds 조회할 사용자 ID 목록
+     * @return 요금제 정보 스트림. 사용 후 닫아야 합니다.
+     */
+    @Query(value = "{ 'userId': { '$in': ?0 } }",
+            fields = "{ '_id': 0, 'userId': 1, 'planName': 1, 'dataAllowance': 1, 'callMinutes': 1, " +
+                    "'messageCount': 1, 'monthlyFee': 1, 'dataUsage': 1, 'callUsage': 1, 'messageUsage': 1, 'version': 1 }")
+    Stream<PhonePlanView> streamByUserIdIn(Collection<String> userIds);
+}
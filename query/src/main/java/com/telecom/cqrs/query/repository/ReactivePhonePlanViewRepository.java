@@ -0,0 +1,36 @@
+package com.telecom.cqrs.query.repository;
+
+import com.telecom.cqrs.query.domain.PhonePlanView;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+/**
+ * 리액티브 조회 모드에서 사용하는 요금제 조회 레포지토리입니다.
+ * 조회가 끝날 때까지 스레드를 점유하지 않고 결과를 발행합니다.
+ */
+public interface ReactivePhonePlanViewRepository extends ReactiveMongoRepository<PhonePlanView, String> {
+    /**
+     * 사용자 ID로 요금제 정보를 조회합니다. 조회용 복합 인덱스만으로 응답합니다.
+     * @param userId 조회할 사용자 ID
+     * @return 요금제 정보. 없으면 비어 있음
+     */
+    @Query(value = "{ 'userId': ?0 }",
+            fields = "{ '_id': 0, 'userId': 1, 'planName': 1, 'dataAllowance': 1, 'callMinutes': 1, " +
+                    "'messageCount': 1, 'monthlyFee': 1, 'dataUsage': 1, 'callUsage': 1, 'messageUsage': 1, 'version': 1 }")
+    Mono<PhonePlanView> findByUserId(String userId);
+
+    /**
+     * 여러 사용자의 요금제 정보를 한 번의 {@code $in} 조회로 발행합니다.
+     * {@link PhonePlanViewRepository#streamByUserIdIn}과 같이 조회용 복합 인덱스만으로 응답합니다.
+     * @param userIds 조회할 사용자 ID 목록
+     * @return 요금제 정보
+     */
+    @Query(value = "{ 'userId': { '$in': ?0 } }",
+            fields = "{ '_id': 0, 'userId': 1, 'planName': 1, 'dataAllowance': 1, 'callMinutes': 1, " +
+                    "'messageCount': 1, 'monthlyFee': 1, 'dataUsage': 1, 'callUsage': 1, 'messageUsage': 1, 'version': 1 }")
+    Flux<PhonePlanView> findByUserIdIn(Collection<String> userIds);
+}
@@ -0,0 +1,397 @@
+package com.telecom.cqrs.query.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.telecom.cqrs.common.constant.EventHubConstants;
+import com.telecom.cqrs.common.event.EventCodec;
+import com.telecom.cqrs.common.event.PhonePlanEvent;
+import com.telecom.cqrs.common.event.UsageDeltaEvent;
+import com.telecom.cqrs.common.event.UsageUpdatedEvent;
+import com.telecom.cqrs.query.config.EventHubProperties;
+import com.telecom.cqrs.query.domain.ParkedEvent;
+import com.telecom.cqrs.query.dto.DeadLetterReplayResponse;
+import com.telecom.cqrs.query.event.AtomicCheckpointWriter;
+import com.telecom.cqrs.query.event.PhonePlanViewProjector;
+import com.telecom.cqrs.query.exception.EventProcessingException;
+import com.telecom.cqrs.query.metrics.DeadLetterMetrics;
+import com.telecom.cqrs.query.repository.ParkedEventRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 반영에 실패한 이벤트를 보류(dead-letter)하고 처리 흐름 밖에서 재처리합니다.
+ *
+ * <p>이벤트 처리 중 오류가 나면 재시도하며 파티션을 멈추지 않고 {@code parked_events} 컬렉션에 보류한 뒤 다음 이벤트로 넘어갑니다.
+ * 같은 사용자의 이후 이벤트는 순서를 지키기 위해 함께 보류되며, 재처리는 사용자별로 보류된 순서대로 진행합니다.
+ * 실패한 이벤트는 지수 백오프로 재시도하고, 최대 횟수를 넘기거나 본문을 해석하지 못한 이벤트는 관리 API로만 재처리합니다.</p>
+ */
+@Slf4j
+@Service
+public class DeadLetterService {
+    private final ParkedEventRepository parkedEventRepository;
+    private final MongoTemplate mongoTemplate;
+    private final PhonePlanViewProjector projector;
+    private final AtomicCheckpointWriter atomicCheckpointWriter;
+    private final EventCodec eventCodec;
+    private final DeadLetterMetrics metrics;
+    private final int maxAttempts;
+    private final long maxBackoffMillis;
+    // 보류 이벤트가 있는 사용자와 보류 세대. 저장은 맵 밖에서 하고, 해제는 확인하는 동안 세대가 바뀌지 않았을 때만 합니다.
+    private final Map<String, Long> parkedUsers = new ConcurrentHashMap<>();
+
+    public DeadLetterService(
+            ParkedEventRepository parkedEventRepository,
+            MongoTemplate mongoTemplate,
+            PhonePlanViewProjector projector,
+            AtomicCheckpointWriter atomicCheckpointWriter,
+            ObjectMapper objectMapper,
+            DeadLetterMetrics metrics,
+            EventHubProperties eventHubProperties) {
+        this.parkedEventRepository = parkedEventRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.projector = projector;
+        this.atomicCheckpointWriter = atomicCheckpointWriter;
+        this.eventCodec = new EventCodec(objectMapper);
+        this.metrics = metrics;
+        this.maxAttempts = eventHubProperties.getDeadLetterMaxAttempts();
+        this.maxBackoffMillis = eventHubProperties.getDeadLetterMaxBackoff();
+    }
+
+    @PostConstruct
+    public void init() {
+        try {
+            refreshParkedUsers();
+        } catch (Exception e) {
+            log.warn("Failed to load parked users: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 이벤트를 반영하고, 실패하거나 같은 사용자의 보류 이벤트가 있으면 보류합니다.
+     *
+     * @return 반영했으면 true, 보류했으면 false
+     */
+    public boolean applyOrPark(Object event) {
+        String userId = getUserId(event);
+        if (isParked(userId)) {
+            park(event, userId, ParkedEvent.REASON_BLOCKED, null);
+            return false;
+        }
+        try {
+            projector.apply(event);
+            return true;
+        } catch (Exception e) {
+            log.warn("Event processing failed, parking: userId={}, error={}", userId, e.getMessage());
+            park(event, userId, ParkedEvent.REASON_PROCESSING_FAILURE, e);
+            return false;
+        }
+    }
+
+    /**
+     * 여러 이벤트를 한 번의 bulk 쓰기로 반영합니다.
+     * bulk 쓰기가 실패하면 이벤트별로 다시 반영하고 실패한 이벤트만 보류합니다.
+     *
+     * @return 반영한 이벤트 수
+     */
+    public int applyAllOrPark(List<?> events) {
+        List<Object> ready = parkBlocked(events);
+        if (ready.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            projector.applyAll(ready);
+            return ready.size();
+        } catch (Exception e) {
+            // 이미 반영된 연산이 있어도 $set과 이벤트 ID 조건이 있는 $inc는 다시 실행해도 결과가 같습니다.
+            log.warn("Bulk projection failed, falling back to single events: count={}, error={}",
+                    ready.size(), e.getMessage());
+            return applyEachOrPark(ready);
+        }
+    }
+
+    /**
+     * 여러 이벤트의 bulk 쓰기와 체크포인트를 한 트랜잭션으로 커밋합니다.
+     * 트랜잭션이 실패하면 이벤트별로 다시 반영해 실패한 이벤트를 보류한 뒤 체크포인트만 따로 기록합니다.
+     * 보류 이벤트는 체크포인트보다 먼저 저장되므로 위치가 앞서 나가도 유실되지 않습니다.
+     *
+     * @param checkpoint 트랜잭션 안에서 실행할 체크포인트 기록
+     * @return 반영한 이벤트 수
+     */
+    public int applyAllOrPark(List<?> events, Runnable checkpoint) {
+        List<Object> ready = parkBlocked(events);
+        try {
+            atomicCheckpointWriter.executeInTransaction(() -> {
+                if (!ready.isEmpty()) {
+                    projector.applyAll(ready);
+                }
+                checkpoint.run();
+            });
+            return ready.size();
+        } catch (Exception e) {
+            log.warn("Transactional projection failed, falling back to single events: count={}, error={}",
+                    ready.size(), e.getMessage());
+            int applied = applyEachOrPark(ready);
+            checkpoint.run();
+            return applied;
+        }
+    }
+
+    private List<Object> parkBlocked(List<?> events) {
+        List<Object> ready = new ArrayList<>(events.size());
+        for (Object event : events) {
+            String userId = getUserId(event);
+            if (isParked(userId)) {
+                park(event, userId, ParkedEvent.REASON_BLOCKED, null);
+            } else {
+                ready.add(event);
+            }
+        }
+        return ready;
+    }
+
+    private int applyEachOrPark(List<Object> events) {
+        int applied = 0;
+        for (Object event : events) {
+            if (applyOrPark(event)) {
+                applied++;
+            }
+        }
+        return applied;
+    }
+
+    /**
+     * 본문을 해석하지 못한 메시지를 원본 그대로 보류합니다. 자동 재처리하지 않습니다.
+     */
+    public void parkUnreadable(String eventType, String contentType, byte[] body, Exception error) {
+        ParkedEvent parked = new ParkedEvent();
+        parked.setEventType(eventType);
+        parked.setContentType(contentType);
+        parked.setPayload(body);
+        parked.setReason(ParkedEvent.REASON_PARSE_FAILURE);
+        parked.setLastError(error.getMessage());
+        parked.setParkedAt(LocalDateTime.now());
+        parkedEventRepository.save(parked);
+        metrics.incrementEventsParked();
+    }
+
+    /**
+     * 재시도 시각이 된 보류 이벤트를 사용자별로 보류된 순서대로 재처리합니다.
+     * 사용자의 첫 보류 이벤트가 아직 재시도 시각 전이거나 다시 실패하면 그 사용자의 나머지 이벤트는 기다립니다.
+     */
+    @Scheduled(fixedDelayString = "${eventhub.dead-letter-retry-interval:10000}")
+    public void retryDue() {
+        try {
+            refreshParkedUsers();
+            LocalDateTime now = LocalDateTime.now();
+            for (String userId : List.copyOf(parkedUsers.keySet())) {
+                retryUser(userId, now, false);
+            }
+            updateMetrics();
+        } catch (Exception e) {
+            log.warn("Dead letter retry failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 보류 이벤트 하나를 재시도 시각과 횟수에 관계없이 즉시 재처리합니다.
+     */
+    public DeadLetterReplayResponse replay(String id) {
+        ParkedEvent parked = parkedEventRepository.findById(id)
+                .orElseThrow(() -> new EventProcessingException("보류 이벤트를 찾을 수 없습니다: " + id));
+        boolean replayed = attempt(parked, LocalDateTime.now());
+        if (parked.getUserId() != null) {
+            releaseIfEmpty(parked.getUserId());
+        }
+        updateMetrics();
+        return DeadLetterReplayResponse.builder()
+                .replayed(replayed ? 1 : 0)
+                .failed(replayed ? 0 : 1)
+                .remaining(parkedEventRepository.count())
+                .build();
+    }
+
+    /**
+     * 모든 보류 이벤트를 사용자별로 보류된 순서대로 즉시 재처리합니다.
+     */
+    public DeadLetterReplayResponse replayAll() {
+        LocalDateTime now = LocalDateTime.now();
+        refreshParkedUsers();
+        int replayed = 0;
+        int failed = 0;
+        for (String userId : List.copyOf(parkedUsers.keySet())) {
+            int[] result = retryUser(userId, now, true);
+            replayed += result[0];
+            failed += result[1];
+        }
+        for (ParkedEvent parked : parkedEventRepository.findByUserIdIsNullOrderByIdAsc()) {
+            if (attempt(parked, now)) {
+                replayed++;
+            } else {
+                failed++;
+            }
+        }
+        updateMetrics();
+        return DeadLetterReplayResponse.builder()
+                .replayed(replayed)
+                .failed(failed)
+                .remaining(parkedEventRepository.count())
+                .build();
+    }
+
+    public boolean isParked(String userId) {
+        return userId != null && parkedUsers.containsKey(userId);
+    }
+
+    /**
+     * @return {재처리한 수, 실패한 수}
+     */
+    private int[] retryUser(String userId, LocalDateTime now, boolean force) {
+        int replayed = 0;
+        int failed = 0;
+        for (ParkedEvent parked : parkedEventRepository.findByUserIdOrderByIdAsc(userId)) {
+            if (!force && (parked.getNextAttemptAt() == null || parked.getNextAttemptAt().isAfter(now))) {
+                break;
+            }
+            if (!attempt(parked, now)) {
+                failed++;
+                break;
+            }
+            replayed++;
+        }
+        releaseIfEmpty(userId);
+        return new int[]{replayed, failed};
+    }
+
+    private boolean attempt(ParkedEvent parked, LocalDateTime now) {
+        try {
+            for (Object event : eventCodec.decodeAll(parked.getPayload(), parked.getContentType(),
+                    getEventClass(parked.getEventType()))) {
+                projector.apply(event);
+            }
+            parkedEventRepository.delete(parked);
+            metrics.incrementEventsResolved();
+            log.info("Parked event replayed: id={}, userId={}, attempts={}",
+                    parked.getId(), parked.getUserId(), parked.getAttempts());
+            return true;
+        } catch (Exception e) {
+            int attempts = parked.getAttempts() + 1;
+            parked.setAttempts(attempts);
+            parked.setLastError(e.getMessage());
+            parked.setLastAttemptAt(now);
+            if (!ParkedEvent.REASON_PARSE_FAILURE.equals(parked.getReason())) {
+                parked.setReason(ParkedEvent.REASON_PROCESSING_FAILURE);
+                parked.setNextAttemptAt(attempts >= maxAttempts ? null : now.plus(backoff(attempts)));
+            }
+            parkedEventRepository.save(parked);
+            metrics.incrementRetryFailures();
+            log.warn("Parked event retry failed: id={}, userId={}, attempts={}, error={}",
+                    parked.getId(), parked.getUserId(), attempts, e.getMessage());
+            return false;
+        }
+    }
+
+    private void park(Object event, String userId, String reason, Exception error) {
+        ParkedEvent parked = new ParkedEvent();
+        parked.setEventType(getEventType(event));
+        parked.setUserId(userId);
+        parked.setContentType(EventHubConstants.CONTENT_TYPE_JSON);
+        parked.setReason(reason);
+        parked.setParkedAt(LocalDateTime.now());
+        if (error != null) {
+            parked.setAttempts(1);
+            parked.setLastError(error.getMessage());
+            parked.setLastAttemptAt(parked.getParkedAt());
+            parked.setNextAttemptAt(parked.getParkedAt().plus(backoff(1)));
+        } else {
+            // 앞선 이벤트가 재처리되면 바로 이어서 처리됩니다.
+            parked.setNextAttemptAt(parked.getParkedAt());
+        }
+
+        try {
+            parked.setPayload(eventCodec.encode(event, EventHubConstants.CONTENT_TYPE_JSON));
+            parkedEventRepository.save(parked);
+            if (userId != null) {
+                // 저장한 뒤 세대를 올리므로, 저장 전에 비어 있다고 확인한 해제는 표시를 지우지 못하거나 여기서 다시 표시됩니다.
+                parkedUsers.merge(userId, 1L, Long::sum);
+            }
+            metrics.incrementEventsParked();
+        } catch (Exception e) {
+            throw new EventProcessingException("Failed to park event for userId=" + userId, e);
+        }
+    }
+
+    /**
+     * 남은 보류 이벤트가 없으면 사용자 표시를 지웁니다. 조회는 맵 밖에서 하며,
+     * 조회하는 동안 같은 사용자의 이벤트가 보류되어 세대가 바뀌었으면 지우지 않습니다.
+     */
+    private void releaseIfEmpty(String userId) {
+        Long generation = parkedUsers.get(userId);
+        if (generation == null || parkedEventRepository.existsByUserId(userId)) {
+            return;
+        }
+        parkedUsers.remove(userId, generation);
+    }
+
+    private void refreshParkedUsers() {
+        List<String> userIds = mongoTemplate.findDistinct(
+                Query.query(Criteria.where("userId").ne(null)), "userId", ParkedEvent.class, String.class);
+        userIds.forEach(userId -> parkedUsers.putIfAbsent(userId, 0L));
+    }
+
+    private void updateMetrics() {
+        long count = parkedEventRepository.count();
+        ParkedEvent oldest = parkedEventRepository.findFirstByOrderByIdAsc();
+        long age = oldest != null && oldest.getParkedAt() != null
+                ? Duration.between(oldest.getParkedAt(), LocalDateTime.now()).toMillis()
+                : 0;
+        metrics.updateParked(count, age);
+    }
+
+    private Duration backoff(int attempts) {
+        long millis = 1000L << Math.min(attempts - 1, 20);
+        return Duration.ofMillis(Math.min(millis, maxBackoffMillis));
+    }
+
+    private String getUserId(Object event) {
+        if (event instanceof PhonePlanEvent planEvent) {
+            return planEvent.getUserId();
+        } else if (event instanceof UsageUpdatedEvent usageEvent) {
+            return usageEvent.getUserId();
+        } else if (event instanceof UsageDeltaEvent deltaEvent) {
+            return deltaEvent.getUserId();
+        }
+        throw new IllegalArgumentException("지원되지 않는 이벤트 타입입니다: " + event.getClass().getSimpleName());
+    }
+
+    private String getEventType(Object event) {
+        if (event instanceof PhonePlanEvent) {
+            return EventHubConstants.EVENT_TYPE_PLAN;
+        } else if (event instanceof UsageUpdatedEvent) {
+            return EventHubConstants.EVENT_TYPE_USAGE;
+        } else if (event instanceof UsageDeltaEvent) {
+            return EventHubConstants.EVENT_TYPE_USAGE_DELTA;
+        }
+        throw new IllegalArgumentException("지원되지 않는 이벤트 타입입니다: " + event.getClass().getSimpleName());
+    }
+
+    private Class<?> getEventClass(String eventType) {
+        if (EventHubConstants.EVENT_TYPE_PLAN.equals(eventType)) {
+            return PhonePlanEvent.class;
+        } else if (EventHubConstants.EVENT_TYPE_USAGE_DELTA.equals(eventType)) {
+            return UsageDeltaEvent.class;
+        }
+        return UsageUpdatedEvent.class;
+    }
+}
@@ -0,0 +1,45 @@
+package com.telecom.cqrs.query.service;
+
+import com.azure.messaging.eventhubs.EventData;
+import com.azure.messaging.eventhubs.models.Checkpoint;
+import com.azure.messaging.eventhubs.models.PartitionContext;
+
+/**
+ * 파티션에서 반영을 마친 마지막 위치입니다. 조회 모델 스냅샷이 어디까지의 이벤트를 담고 있는지 나타냅니다.
+ */
+public record PartitionPosition(
+        String fullyQualifiedNamespace,
+        String eventHubName,
+        String consumerGroup,
+        String partitionId,
+        long sequenceNumber,
+        long offset) {
+
+    public static PartitionPosition of(PartitionContext partitionContext, EventData last) {
+        return new PartitionPosition(
+                partitionContext.getFullyQualifiedNamespace(),
+                partitionContext.getEventHubName(),
+                partitionContext.getConsumerGroup(),
+                partitionContext.getPartitionId(),
+                last.getSequenceNumber(),
+                last.getOffset());
+    }
+
+    public static String key(String fullyQualifiedNamespace, String eventHubName, String consumerGroup, String partitionId) {
+        return fullyQualifiedNamespace + "/" + eventHubName + "/" + consumerGroup.toLowerCase() + "/" + partitionId;
+    }
+
+    public String key() {
+        return key(fullyQualifiedNamespace, eventHubName, consumerGroup, partitionId);
+    }
+
+    public Checkpoint toCheckpoint() {
+        return new Checkpoint()
+                .setFullyQualifiedNamespace(fullyQualifiedNamespace)
+                .setEventHubName(eventHubName)
+                .setConsumerGroup(consumerGroup)
+                .setPartitionId(partitionId)
+                .setSequenceNumber(sequenceNumber)
+                .setOffset(offset);
+    }
+}
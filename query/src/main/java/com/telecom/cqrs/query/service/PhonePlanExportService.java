@@ -0,0 +1,128 @@
+package com.telecom.cqrs.query.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Sorts;
+import com.telecom.cqrs.query.config.QueryProperties;
+import com.telecom.cqrs.query.domain.PhonePlanView;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 조회 모델 전체를 NDJSON으로 내보냅니다.
+ *
+ * <p>userId 순서의 MongoDB 커서를 읽는 대로 응답에 기록하므로 메모리 사용량은 커서 배치 하나로 일정합니다.
+ * 응답 쓰기가 막히면 다음 배치를 요청하지 않으므로 느린 클라이언트가 곧 읽기 속도를 제한합니다(backpressure).
+ * 도큐먼트는 객체로 변환하지 않고 필요한 필드만 읽어 바로 기록합니다.</p>
+ *
+ * <p>각 줄은 userId를 포함하며, 마지막으로 받은 줄의 userId를 {@code after}로 전달하면 그 다음부터 이어서 내보냅니다.</p>
+ */
+@Slf4j
+@Service
+public class PhonePlanExportService {
+    // 조회 응답과 같은 필드 순서
+    private static final String[] FIELDS = {
+            "userId", "planName", "dataAllowance", "dataUsage", "callMinutes",
+            "callUsage", "messageCount", "messageUsage", "monthlyFee", "version"
+    };
+
+    private final MongoTemplate mongoTemplate;
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final int batchSize;
+
+    public PhonePlanExportService(MongoTemplate mongoTemplate, QueryProperties queryProperties) {
+        this.mongoTemplate = mongoTemplate;
+        this.batchSize = queryProperties.getExportBatchSize();
+    }
+
+    /**
+     * 조건에 맞는 요금제 정보를 userId 순서로 한 줄에 하나씩 기록합니다.
+     *
+     * @param planName 요금제명 조건, 없으면 전체
+     * @param status 상태 조건, 없으면 전체
+     * @param after 이 userId 다음부터 내보냅니다. 없으면 처음부터
+     * @param limit 최대 건수, 0 이하면 제한 없음
+     * @return 기록한 건수
+     */
+    public long export(String planName, String status, String after, long limit, OutputStream out) throws IOException {
+        long start = System.nanoTime();
+        long written = 0;
+        try (MongoCursor<Document> cursor = mongoTemplate.getCollection(mongoTemplate.getCollectionName(PhonePlanView.class))
+                .find(filter(planName, status, after))
+                .projection(projection())
+                .sort(sort())
+                .batchSize(batchSize)
+                .limit(limit > 0 ? (int) Math.min(limit, Integer.MAX_VALUE) : 0)
+                .iterator();
+             JsonGenerator generator = jsonFactory.createGenerator(out)) {
+            generator.setRootValueSeparator(null);
+            while (cursor.hasNext()) {
+                writeLine(generator, cursor.next());
+                written++;
+            }
+        }
+
+        long elapsedMillis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        log.info("Phone plan export finished: documents={}, elapsed={} ms, rate={} docs/s",
+                written, elapsedMillis, written * 1000 / elapsedMillis);
+        return written;
+    }
+
+    /**
+     * 내보내기 조건을 만듭니다. 리액티브 조회 모드의 내보내기도 같은 조건을 사용합니다.
+     * 조건 조합(planName만, status만, 둘 다)마다 그 필드 뒤에 userId를 둔 인덱스가 있어 정렬 없이 userId 순서로 읽습니다.
+     * 조건이 없으면 userId 인덱스를 사용합니다.
+     */
+    static Bson filter(String planName, String status, String after) {
+        List<Bson> filters = new ArrayList<>();
+        if (after != null && !after.isBlank()) {
+            filters.add(Filters.gt("userId", after));
+        }
+        if (planName != null && !planName.isBlank()) {
+            filters.add(Filters.eq("planName", planName));
+        }
+        if (status != null && !status.isBlank()) {
+            filters.add(Filters.eq("status", status));
+        }
+        return filters.isEmpty() ? new Document() : Filters.and(filters);
+    }
+
+    static Bson projection() {
+        return Projections.fields(Projections.include(FIELDS), Projections.excludeId());
+    }
+
+    static Bson sort() {
+        return Sorts.ascending("userId");
+    }
+
+    private void writeLine(JsonGenerator generator, Document document) throws IOException {
+        generator.writeStartObject();
+        for (String field : FIELDS) {
+            Object value = document.get(field);
+            if (value == null) {
+                generator.writeNullField(field);
+            } else if (value instanceof Integer number) {
+                generator.writeNumberField(field, number);
+            } else if (value instanceof Long number) {
+                generator.writeNumberField(field, number);
+            } else if (value instanceof Double number) {
+                generator.writeNumberField(field, number);
+            } else {
+                generator.writeStringField(field, value.toString());
+            }
+        }
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+}
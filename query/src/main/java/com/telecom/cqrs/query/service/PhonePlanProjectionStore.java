@@ -0,0 +1,407 @@
+package com.telecom.cqrs.query.service;
+
+import com.telecom.cqrs.query.config.QueryProperties;
+import com.telecom.cqrs.query.domain.PhonePlanView;
+import com.telecom.cqrs.query.dto.PhonePlanQueryResponse;
+import com.telecom.cqrs.query.metrics.ProjectionStoreMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.StampedLock;
+import java.util.stream.Stream;
+
+/**
+ * 조회 모델 전체를 오프힙 메모리에 보관하는 저장소입니다. {@code query.serving-mode}가 {@code memory}일 때만 사용합니다.
+ *
+ * <p>구독자마다 {@value #RECORD_SIZE}바이트 고정 길이 레코드를 direct buffer 청크에 기록하고, 요금제명은 요금제 테이블에
+ * 한 번만 저장한 뒤 번호로 참조합니다. 사용량은 박싱하지 않고 값이 있는지를 플래그로 표시합니다.
+ * userId에서 레코드 위치를 찾는 인덱스만 힙에 둡니다.</p>
+ *
+ * <p>시작할 때 MongoDB에서 전체를 적재하고, 이후에는 이벤트를 조회 모델에 반영할 때마다 MongoDB가 반환한 갱신 후 도큐먼트로
+ * 레코드를 덮어씁니다. 버전은 MongoDB의 값을 그대로 사용하므로 이벤트를 다시 계산하면서 어긋나지 않습니다.
+ * 조회는 잠금 없는 낙관적 읽기로 수행하며, 쓰기와 겹치면 읽기 잠금으로 다시 읽습니다.
+ * MongoDB는 영속 사본이며, {@code query.snapshot-path}를 설정하면 시작할 때 MongoDB 대신 스냅샷 파일을 매핑합니다.
+ * 스냅샷에서 복원한 경우 이벤트 소비는 스냅샷이 담고 있는 파티션 위치부터 다시 시작합니다.</p>
+ *
+ * <p>각 인스턴스는 자신이 소유한 파티션의 변경만 반영하므로, 메모리 조회 모드는 한 인스턴스가 모든 파티션을 처리하는 구성을 전제로 합니다.</p>
+ */
+@Slf4j
+@Component
+public class PhonePlanProjectionStore {
+    // 레코드 내 필드 위치(바이트)
+    private static final int PLAN_ID = 0;
+    private static final int DATA_ALLOWANCE = 4;
+    private static final int CALL_MINUTES = 8;
+    private static final int MESSAGE_COUNT = 12;
+    private static final int MONTHLY_FEE = 16;
+    private static final int DATA_USAGE = 24;
+    private static final int CALL_USAGE = 32;
+    private static final int MESSAGE_USAGE = 40;
+    private static final int FLAGS = 48;
+    private static final int VERSION = 56;
+    static final int RECORD_SIZE = 64;
+
+    private static final int CHUNK_SHIFT = 16;
+    private static final int RECORDS_PER_CHUNK = 1 << CHUNK_SHIFT;
+    static final int CHUNK_BYTES = RECORD_SIZE * RECORDS_PER_CHUNK;
+    private static final int NO_PLAN = -1;
+    private static final int HAS_DATA_USAGE = 1;
+    private static final int HAS_CALL_USAGE = 2;
+    private static final int HAS_MESSAGE_USAGE = 4;
+    // userId 인덱스 항목 하나의 힙 사용량 추정치(문자열 본문 제외, 바이트)
+    private static final int INDEX_ENTRY_OVERHEAD = 96;
+
+    private final MongoTemplate mongoTemplate;
+    private final ProjectionStoreMetrics metrics;
+    private final boolean enabled;
+    private final String snapshotPath;
+    private final long snapshotMaxAge;
+    private final StampedLock lock = new StampedLock();
+    private final Map<String, Integer> slots = new ConcurrentHashMap<>();
+    // 아래 필드는 쓰기 잠금 안에서만 변경합니다.
+    private final Map<String, Integer> planIds = new HashMap<>();
+    private volatile String[] planTable = new String[0];
+    private volatile ByteBuffer[] chunks = new ByteBuffer[0];
+    private int size;
+    private long indexBytes;
+    private volatile List<PartitionPosition> restoredPositions = List.of();
+
+    public PhonePlanProjectionStore(
+            MongoTemplate mongoTemplate,
+            ProjectionStoreMetrics metrics,
+            QueryProperties queryProperties) {
+        this.mongoTemplate = mongoTemplate;
+        this.metrics = metrics;
+        this.enabled = "memory".equalsIgnoreCase(queryProperties.getServingMode());
+        this.snapshotPath = queryProperties.getSnapshotPath();
+        this.snapshotMaxAge = queryProperties.getSnapshotMaxAge();
+    }
+
+    /**
+     * 이벤트 프로세서가 시작되기 전에 조회 모델 전체를 적재합니다.
+     * 사용할 수 있는 스냅샷이 있으면 스냅샷 파일을 매핑하고, 없으면 MongoDB에서 읽습니다.
+     */
+    @PostConstruct
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        if (restoreSnapshot()) {
+            return;
+        }
+        loadFromMongo();
+    }
+
+    /**
+     * 현재 상태를 버리고 MongoDB에서 다시 적재합니다. 스냅샷을 사용할 수 없다고 판단되었을 때 사용합니다.
+     */
+    public void reloadFromMongo() {
+        long stamp = lock.writeLock();
+        try {
+            slots.clear();
+            planIds.clear();
+            planTable = new String[0];
+            chunks = new ByteBuffer[0];
+            size = 0;
+            indexBytes = 0;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        restoredPositions = List.of();
+        loadFromMongo();
+    }
+
+    /**
+     * 스냅샷에서 복원했다면 스냅샷이 담고 있는 파티션 위치를, 아니면 빈 목록을 반환합니다.
+     */
+    public List<PartitionPosition> getRestoredPositions() {
+        return restoredPositions;
+    }
+
+    /**
+     * 현재 상태를 스냅샷 파일로 기록합니다. 읽기 잠금 안에서는 사용 중인 레코드 청크를 힙으로 복사만 하고,
+     * 파일 기록과 fsync는 잠금을 놓은 뒤 수행하므로 이벤트 반영은 복사하는 동안만 대기합니다.
+     *
+     * @param positions 현재 상태가 담고 있는 파티션 위치. 상태를 복사하기 전에 수집해야 합니다.
+     */
+    void writeSnapshot(Path file, List<PartitionPosition> positions) throws IOException {
+        String[] userIds;
+        String[] plans;
+        ByteBuffer[] copies;
+        long stamp = lock.readLock();
+        try {
+            userIds = new String[size];
+            slots.forEach((userId, slot) -> userIds[slot] = userId);
+            // 요금제 테이블은 늘릴 때마다 새 배열로 교체하므로 참조만 잡아도 됩니다.
+            plans = planTable;
+            copies = new ByteBuffer[(size + RECORDS_PER_CHUNK - 1) / RECORDS_PER_CHUNK];
+            for (int i = 0; i < copies.length; i++) {
+                ByteBuffer source = chunks[i].duplicate();
+                source.clear();
+                copies[i] = ByteBuffer.allocate(CHUNK_BYTES).put(source);
+            }
+        } finally {
+            lock.unlockRead(stamp);
+        }
+        ProjectionSnapshotFile.write(file,
+                new ProjectionSnapshotFile.Contents(System.currentTimeMillis(), positions, plans, userIds, copies),
+                RECORD_SIZE, CHUNK_BYTES);
+    }
+
+    private boolean restoreSnapshot() {
+        Path file = snapshotFile();
+        if (file == null || !Files.exists(file)) {
+            return false;
+        }
+        long start = System.currentTimeMillis();
+        try {
+            ProjectionSnapshotFile.Contents contents = ProjectionSnapshotFile.read(file, RECORD_SIZE, CHUNK_BYTES);
+            long age = System.currentTimeMillis() - contents.createdAt();
+            if (age > snapshotMaxAge) {
+                log.warn("Projection snapshot is too old to resume from, loading from MongoDB: age={} ms", age);
+                return false;
+            }
+            long stamp = lock.writeLock();
+            try {
+                String[] plans = contents.planTable();
+                for (int i = 0; i < plans.length; i++) {
+                    planIds.put(plans[i], i);
+                }
+                planTable = plans;
+                String[] userIds = contents.userIds();
+                for (int slot = 0; slot < userIds.length; slot++) {
+                    slots.put(userIds[slot], slot);
+                    indexBytes += INDEX_ENTRY_OVERHEAD + userIds[slot].length() * 2L;
+                }
+                size = userIds.length;
+                chunks = contents.chunks();
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+            restoredPositions = contents.positions();
+            updateMetrics();
+            log.info("Projection store restored from snapshot in {} ms: age={} ms, partitions={}, {}",
+                    System.currentTimeMillis() - start, age, restoredPositions.size(), metrics.getMetricsSummary());
+            return true;
+        } catch (Exception e) {
+            log.warn("Failed to restore projection snapshot, loading from MongoDB: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private void loadFromMongo() {
+        long start = System.currentTimeMillis();
+        try (Stream<PhonePlanView> views = mongoTemplate.stream(new Query(), PhonePlanView.class)) {
+            views.forEach(this::put);
+        }
+        log.info("Projection store loaded in {} ms: {}", System.currentTimeMillis() - start, metrics.getMetricsSummary());
+    }
+
+    private Path snapshotFile() {
+        return snapshotPath == null || snapshotPath.isBlank() ? null : Path.of(snapshotPath);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 사용자의 요금제 정보를 조회합니다.
+     *
+     * @return 요금제 정보. 없으면 null을 반환
+     */
+    public PhonePlanQueryResponse get(String userId) {
+        long start = System.nanoTime();
+        PhonePlanQueryResponse response = null;
+        if (userId != null) {
+            // 위치도 낙관적 읽기 안에서 찾아야 다시 적재되는 중에 다른 사용자의 레코드를 읽지 않습니다.
+            long stamp = lock.tryOptimisticRead();
+            response = read(userId);
+            if (!lock.validate(stamp)) {
+                stamp = lock.readLock();
+                try {
+                    response = read(userId);
+                } finally {
+                    lock.unlockRead(stamp);
+                }
+            }
+        }
+        metrics.recordRead(System.nanoTime() - start);
+        return response;
+    }
+
+    /**
+     * 이벤트를 반영한 뒤 MongoDB가 반환한 도큐먼트로 레코드를 덮어씁니다. 없는 사용자면 새로 만듭니다.
+     * 버전은 MongoDB의 값을 그대로 사용하며, 이미 더 새로운 버전이 기록되어 있으면 건너뜁니다.
+     */
+    public void applyLatest(PhonePlanView view) {
+        if (!enabled || view == null) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> {
+            put(view);
+            metrics.incrementWrites();
+        });
+    }
+
+    /**
+     * 주어진 사용자들의 레코드를 MongoDB에서 다시 읽어 덮어씁니다.
+     */
+    public void refresh(Collection<String> userIds) {
+        if (!enabled || userIds.isEmpty()) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> {
+            List<PhonePlanView> views = mongoTemplate.find(
+                    Query.query(Criteria.where("userId").in(userIds)), PhonePlanView.class);
+            views.forEach(this::put);
+            metrics.addRefreshes(views.size());
+        });
+    }
+
+    public long size() {
+        return slots.size();
+    }
+
+    private void put(PhonePlanView view) {
+        if (view.getUserId() == null) {
+            return;
+        }
+        long version = view.getVersion() != null ? view.getVersion() : 0L;
+        long stamp = lock.writeLock();
+        try {
+            int existing = slotFor(view.getUserId(), false);
+            if (existing >= 0 && chunk(existing).getLong(position(existing) + VERSION) > version) {
+                // 늦게 도착한 이전 버전은 반영하지 않습니다.
+                return;
+            }
+            int slot = existing >= 0 ? existing : slotFor(view.getUserId(), true);
+            ByteBuffer buffer = chunk(slot);
+            int position = position(slot);
+            buffer.putInt(position + PLAN_ID, view.getPlanName() != null ? internPlan(view.getPlanName()) : NO_PLAN);
+            buffer.putInt(position + DATA_ALLOWANCE, view.getDataAllowance());
+            buffer.putInt(position + CALL_MINUTES, view.getCallMinutes());
+            buffer.putInt(position + MESSAGE_COUNT, view.getMessageCount());
+            buffer.putDouble(position + MONTHLY_FEE, view.getMonthlyFee());
+            buffer.putInt(position + FLAGS, 0);
+            setUsage(buffer, position, DATA_USAGE, HAS_DATA_USAGE, view.getDataUsage());
+            setUsage(buffer, position, CALL_USAGE, HAS_CALL_USAGE, view.getCallUsage());
+            setUsage(buffer, position, MESSAGE_USAGE, HAS_MESSAGE_USAGE, view.getMessageUsage());
+            buffer.putLong(position + VERSION, version);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        updateMetrics();
+    }
+
+    /**
+     * 잠금 없이 호출될 수 있으므로 청크 배열을 한 번만 읽고 범위를 확인합니다.
+     * {@link #reloadFromMongo()}가 청크를 비운 직후라면 범위를 벗어날 수 있으며, 이때는 null을 반환하고
+     * 호출한 쪽의 validate가 실패해 읽기 잠금으로 다시 읽습니다.
+     */
+    private PhonePlanQueryResponse read(String userId) {
+        Integer slot = slots.get(userId);
+        ByteBuffer[] current = chunks;
+        if (slot == null || (slot >>> CHUNK_SHIFT) >= current.length) {
+            return null;
+        }
+        ByteBuffer buffer = current[slot >>> CHUNK_SHIFT];
+        int position = position(slot);
+        if (position + RECORD_SIZE > buffer.capacity()) {
+            return null;
+        }
+        int planId = buffer.getInt(position + PLAN_ID);
+        int flags = buffer.getInt(position + FLAGS);
+        String[] plans = planTable;
+
+        PhonePlanQueryResponse response = new PhonePlanQueryResponse();
+        response.setUserId(userId);
+        response.setPlanName(planId >= 0 && planId < plans.length ? plans[planId] : null);
+        response.setDataAllowance(buffer.getInt(position + DATA_ALLOWANCE));
+        response.setCallMinutes(buffer.getInt(position + CALL_MINUTES));
+        response.setMessageCount(buffer.getInt(position + MESSAGE_COUNT));
+        response.setMonthlyFee(buffer.getDouble(position + MONTHLY_FEE));
+        response.setDataUsage((flags & HAS_DATA_USAGE) != 0 ? buffer.getLong(position + DATA_USAGE) : null);
+        response.setCallUsage((flags & HAS_CALL_USAGE) != 0 ? buffer.getLong(position + CALL_USAGE) : null);
+        response.setMessageUsage((flags & HAS_MESSAGE_USAGE) != 0 ? buffer.getLong(position + MESSAGE_USAGE) : null);
+        response.setVersion(buffer.getLong(position + VERSION));
+        return response;
+    }
+
+    /**
+     * 사용자의 레코드 번호를 반환합니다. 없으면 create가 true일 때 새 레코드를 만들고, 아니면 -1을 반환합니다.
+     * 쓰기 잠금 안에서 호출해야 합니다.
+     */
+    private int slotFor(String userId, boolean create) {
+        Integer slot = slots.get(userId);
+        if (slot != null) {
+            return slot;
+        }
+        if (!create) {
+            return -1;
+        }
+        int newSlot = size;
+        int chunkIndex = newSlot >>> CHUNK_SHIFT;
+        if (chunkIndex >= chunks.length) {
+            ByteBuffer[] grown = Arrays.copyOf(chunks, chunkIndex + 1);
+            grown[chunkIndex] = ByteBuffer.allocateDirect(CHUNK_BYTES);
+            chunks = grown;
+        }
+        chunk(newSlot).putInt(position(newSlot) + PLAN_ID, NO_PLAN);
+        size++;
+        indexBytes += INDEX_ENTRY_OVERHEAD + userId.length() * 2L;
+        slots.put(userId, newSlot);
+        return newSlot;
+    }
+
+    /**
+     * 요금제명을 요금제 테이블에 한 번만 저장하고 번호를 반환합니다. 쓰기 잠금 안에서 호출해야 합니다.
+     */
+    private int internPlan(String planName) {
+        Integer planId = planIds.get(planName);
+        if (planId != null) {
+            return planId;
+        }
+        String[] plans = planTable;
+        String[] grown = Arrays.copyOf(plans, plans.length + 1);
+        grown[plans.length] = planName;
+        planTable = grown;
+        planIds.put(planName, plans.length);
+        return plans.length;
+    }
+
+    private ByteBuffer chunk(int slot) {
+        return chunks[slot >>> CHUNK_SHIFT];
+    }
+
+    private int position(int slot) {
+        return (slot & (RECORDS_PER_CHUNK - 1)) * RECORD_SIZE;
+    }
+
+    private void setUsage(ByteBuffer buffer, int position, int field, int flag, Long value) {
+        if (value == null) {
+            return;
+        }
+        buffer.putLong(position + field, value);
+        buffer.putInt(position + FLAGS, buffer.getInt(position + FLAGS) | flag);
+    }
+
+    private void updateMetrics() {
+        metrics.updateSize(slots.size(), (long) chunks.length * CHUNK_BYTES,
+                indexBytes, planTable.length);
+    }
+}
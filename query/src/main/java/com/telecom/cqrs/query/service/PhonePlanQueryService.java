@@ -1,31 +1,128 @@
 package com.telecom.cqrs.query.service;
 
+import com.telecom.cqrs.query.config.QueryProperties;
 import com.telecom.cqrs.query.domain.PhonePlanView;
 import com.telecom.cqrs.query.dto.PhonePlanQueryResponse;
+import com.telecom.cqrs.query.exception.InvalidQueryException;
 import com.telecom.cqrs.query.mapper.PhonePlanMapper;
+import com.telecom.cqrs.query.metrics.RequestCoalescingMetrics;
 import com.telecom.cqrs.query.repository.PhonePlanViewRepository;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
 /**
  * 요금제 조회 기능을 제공하는 서비스입니다.
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class PhonePlanQueryService {
     private final PhonePlanViewRepository phonePlanViewRepository;
     private final PhonePlanMapper phonePlanMapper;
+    private final PhonePlanViewCache phonePlanViewCache;
+    private final PhonePlanProjectionStore projectionStore;
+    private final RequestCoalescer<String, PhonePlanQueryResponse> requestCoalescer;
+    private final int batchMaxSize;
+
+    public PhonePlanQueryService(
+            PhonePlanViewRepository phonePlanViewRepository,
+            PhonePlanMapper phonePlanMapper,
+            PhonePlanViewCache phonePlanViewCache,
+            PhonePlanProjectionStore projectionStore,
+            RequestCoalescingMetrics coalescingMetrics,
+            QueryProperties queryProperties) {
+        this.phonePlanViewRepository = phonePlanViewRepository;
+        this.phonePlanMapper = phonePlanMapper;
+        this.phonePlanViewCache = phonePlanViewCache;
+        this.projectionStore = projectionStore;
+        this.requestCoalescer = new RequestCoalescer<>(coalescingMetrics, queryProperties.getCoalescingTimeout());
+        this.batchMaxSize = queryProperties.getBatchMaxSize();
+    }
 
     /**
-     * 사용자의 요금제 정보를 조회합니다.
+     * 사용자의 요금제 정보를 조회합니다. 메모리 조회 모드에서는 오프힙 저장소에서만 조회하고,
+     * 그렇지 않으면 캐시에 있을 때 MongoDB를 조회하지 않습니다.
+     * 캐시에 없는 같은 사용자를 동시에 조회하면 한 번만 조회하고 결과를 함께 반환합니다.
+     * MongoDB 조회는 캐시 잠금 밖에서 수행하고, 리액티브 조회와 같이 변경 표식을 확인한 뒤 캐시에 넣습니다.
      * @param userId 조회할 사용자 ID
      * @return 요금제 정보. 없으면 null을 반환
      */
     public PhonePlanQueryResponse getPhonePlan(String userId) {
+        if (projectionStore.isEnabled()) {
+            return projectionStore.get(userId);
+        }
+        PhonePlanQueryResponse cached = phonePlanViewCache.getIfPresent(userId);
+        if (cached != null) {
+            return cached;
+        }
+        return requestCoalescer.execute(userId, this::loadPhonePlan);
+    }
+
+    /**
+     * 일괄 조회 요청의 사용자 ID 목록을 검증합니다. 응답을 스트리밍하기 전에 호출해야 합니다.
+     */
+    public void validateBatch(List<String> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            throw new InvalidQueryException("조회할 사용자 ID가 없습니다.");
+        }
+        if (userIds.size() > batchMaxSize) {
+            throw new InvalidQueryException(
+                    String.format("한 번에 조회할 수 있는 사용자는 최대 %d명입니다.", batchMaxSize));
+        }
+    }
+
+    /**
+     * 여러 사용자의 요금제 정보를 조회해 찾는 대로 consumer에 전달합니다.
+     * 캐시에 있는 사용자는 캐시에서, 나머지는 한 번의 {@code $in} 조회로 인덱스에서 읽습니다.
+     * 메모리 조회 모드에서는 오프힙 저장소에서만 조회합니다. 중복된 ID는 한 번만 조회합니다.
+     * @param userIds 조회할 사용자 ID 목록
+     * @param consumer 조회된 요금제 정보를 받을 함수
+     * @return 조회 모델이 없는 사용자 ID
+     */
+    public List<String> findPhonePlans(List<String> userIds, Consumer<PhonePlanQueryResponse> consumer) {
+        Set<String> missing = new LinkedHashSet<>();
+        for (String userId : userIds) {
+            if (userId != null) {
+                missing.add(userId);
+            }
+        }
+
+        List<String> found = new ArrayList<>();
+        for (String userId : missing) {
+            PhonePlanQueryResponse response = projectionStore.isEnabled()
+                    ? projectionStore.get(userId)
+                    : phonePlanViewCache.getIfPresent(userId);
+            if (response != null) {
+                consumer.accept(response);
+                found.add(userId);
+            }
+        }
+        found.forEach(missing::remove);
+
+        if (!missing.isEmpty() && !projectionStore.isEnabled()) {
+            log.debug("Querying phone plans for {} users", missing.size());
+            try (Stream<PhonePlanView> views = phonePlanViewRepository.streamByUserIdIn(new ArrayList<>(missing))) {
+                views.forEach(view -> {
+                    consumer.accept(phonePlanMapper.toDto(view));
+                    missing.remove(view.getUserId());
+                });
+            }
+        }
+        return new ArrayList<>(missing);
+    }
+
+    private PhonePlanQueryResponse loadPhonePlan(String userId) {
+        long stamp = phonePlanViewCache.loadStamp(userId);
         log.debug("Querying phone plan for user: {}", userId);
         PhonePlanView view = phonePlanViewRepository.findByUserId(userId);
-        return phonePlanMapper.toDto(view);
+        PhonePlanQueryResponse response = phonePlanMapper.toDto(view);
+        phonePlanViewCache.putLoaded(userId, response, stamp);
+        return response;
     }
-}
\ No newline at end of file
+}
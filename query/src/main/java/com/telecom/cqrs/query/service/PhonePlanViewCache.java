@@ -0,0 +1,147 @@
+package com.telecom.cqrs.query.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.telecom.cqrs.query.config.QueryProperties;
+import com.telecom.cqrs.query.dto.PhonePlanQueryResponse;
+import com.telecom.cqrs.query.metrics.PhonePlanCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 요금제 조회 응답을 사용자별로 보관하는 인메모리 캐시입니다.
+ *
+ * <p>이벤트를 조회 모델에 반영할 때 MongoDB가 반환한 갱신 후 응답으로 캐시 항목을 교체(write-through)하므로 캐시는 조회 모델만큼 최신입니다.
+ * 캐시 항목은 변경하지 않고 새 객체로 교체합니다. 조회 적재는 캐시 잠금 밖에서 MongoDB를 읽은 뒤 {@link #putLoaded}로 넣으며,
+ * 읽는 동안 같은 구간에 갱신이나 무효화가 있었으면 버리므로 지난 값이 갱신을 덮어쓰지 않습니다.
+ * 같은 사용자의 동시 적재를 하나로 합치는 일은 조회 서비스가 담당합니다.
+ * MongoDB 트랜잭션 안에서 반영하면 커밋 후에 캐시를 갱신합니다.</p>
+ *
+ * <p>이 인스턴스가 소유하지 않은 파티션의 변경은 전달되지 않으므로 {@code query.cache-expire-after-write}가 지나면 항목을 다시 적재합니다.</p>
+ */
+@Slf4j
+@Component
+public class PhonePlanViewCache {
+    // 응답 객체 한 개의 고정 크기 추정치(바이트)
+    private static final int BASE_WEIGHT = 160;
+    // 적재와 갱신의 순서를 판별하는 사용자 구간 수(2의 거듭제곱)
+    private static final int STAMP_STRIPES = 1024;
+
+    private final Cache<String, PhonePlanQueryResponse> cache;
+    private final PhonePlanCacheMetrics metrics;
+    private final AtomicLongArray stamps = new AtomicLongArray(STAMP_STRIPES);
+    private final boolean enabled;
+
+    public PhonePlanViewCache(QueryProperties queryProperties, PhonePlanCacheMetrics metrics) {
+        this.metrics = metrics;
+        this.enabled = queryProperties.isCacheEnabled();
+
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(queryProperties.getCacheExpireAfterWrite()))
+                .recordStats(() -> metrics);
+        Long maximumWeight = queryProperties.getCacheMaximumWeight();
+        if (maximumWeight != null && maximumWeight > 0) {
+            this.cache = builder.maximumWeight(maximumWeight)
+                    .weigher((String userId, PhonePlanQueryResponse response) -> weigh(response))
+                    .build();
+        } else {
+            this.cache = builder.maximumSize(queryProperties.getCacheMaximumSize()).build();
+        }
+        log.info("Phone plan cache initialized: enabled={}, maximumSize={}, maximumWeight={}",
+                enabled, queryProperties.getCacheMaximumSize(), maximumWeight);
+    }
+
+    /**
+     * 캐시된 응답을 반환하고, 없으면 null을 반환합니다. 적재하지 않으며 적중한 경우만 통계에 기록합니다.
+     */
+    public PhonePlanQueryResponse getIfPresent(String userId) {
+        if (!enabled || userId == null) {
+            return null;
+        }
+        PhonePlanQueryResponse cached = cache.asMap().get(userId);
+        if (cached != null) {
+            metrics.recordHits(1);
+        }
+        return cached;
+    }
+
+    /**
+     * 적재를 시작하기 전에 호출해 사용자 구간의 변경 표식을 받습니다. {@link #putLoaded}에 그대로 전달해야 합니다.
+     */
+    public long loadStamp(String userId) {
+        return userId == null ? 0 : stamps.get(stripe(userId));
+    }
+
+    /**
+     * 적재한 응답을 캐시에 넣습니다. 적재를 시작한 뒤 같은 구간에 갱신이나 무효화가 있었다면
+     * 읽은 값이 이미 지난 값일 수 있으므로 넣지 않습니다. 이미 캐시된 항목은 바꾸지 않습니다.
+     */
+    public void putLoaded(String userId, PhonePlanQueryResponse response, long stamp) {
+        if (!enabled || userId == null || response == null) {
+            return;
+        }
+        metrics.recordMisses(1);
+        int stripe = stripe(userId);
+        cache.asMap().compute(userId, (key, cached) ->
+                cached != null || stamps.get(stripe) != stamp ? cached : response);
+    }
+
+    /**
+     * MongoDB가 반환한 갱신 후 응답으로 캐시 항목을 교체합니다. 캐시에 없는 사용자는 다음 조회에서 적재하므로 넣지 않으며,
+     * 캐시된 버전이 같거나 더 새로우면 그대로 둡니다.
+     */
+    public void applyLatest(PhonePlanQueryResponse latest) {
+        if (!enabled || latest == null || latest.getUserId() == null) {
+            return;
+        }
+        String userId = latest.getUserId();
+        TransactionCallbacks.afterCommit(() -> {
+            stamps.incrementAndGet(stripe(userId));
+            if (cache.asMap().computeIfPresent(userId, (key, cached) -> isNewer(latest, cached) ? latest : cached) == latest) {
+                metrics.incrementWriteThroughs();
+            }
+        });
+    }
+
+    /**
+     * 캐시 항목을 제거합니다. 다음 조회에서 MongoDB에서 다시 적재합니다.
+     */
+    public void invalidate(String userId) {
+        if (!enabled || userId == null) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> {
+            stamps.incrementAndGet(stripe(userId));
+            cache.invalidate(userId);
+            metrics.incrementInvalidations();
+        });
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    private int stripe(String userId) {
+        return userId.hashCode() & (STAMP_STRIPES - 1);
+    }
+
+    private boolean isNewer(PhonePlanQueryResponse latest, PhonePlanQueryResponse cached) {
+        long latestVersion = latest.getVersion() != null ? latest.getVersion() : 0L;
+        long cachedVersion = cached.getVersion() != null ? cached.getVersion() : 0L;
+        return latestVersion > cachedVersion;
+    }
+
+    private int weigh(PhonePlanQueryResponse response) {
+        int weight = BASE_WEIGHT;
+        if (response.getUserId() != null) {
+            weight += response.getUserId().length() * 2;
+        }
+        if (response.getPlanName() != null) {
+            weight += response.getPlanName().length() * 2;
+        }
+        return weight;
+    }
+}
@@ -0,0 +1,150 @@
+package com.telecom.cqrs.query.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 메모리 조회 저장소의 스냅샷 파일 형식입니다.
+ *
+ * <p>머리말(형식 정보, 파티션 위치, 요금제 테이블, 레코드 순서의 userId) 뒤에 페이지 경계부터 레코드 청크를
+ * 메모리와 같은 배치로 기록합니다. 읽을 때는 레코드 청크를 복사하지 않고 파일을 그대로 private 매핑하므로,
+ * 이후 변경은 메모리에만 반영되고 파일은 바뀌지 않습니다.</p>
+ */
+final class ProjectionSnapshotFile {
+    private static final int MAGIC = 0x50505331; // "PPS1"
+    static final int VERSION = 2; // 2: 레코드에 조회 모델 버전 추가(64바이트)
+    private static final int PAGE_SIZE = 4096;
+
+    private ProjectionSnapshotFile() {}
+
+    record Contents(long createdAt, List<PartitionPosition> positions, String[] planTable,
+                    String[] userIds, ByteBuffer[] chunks) {}
+
+    /**
+     * 임시 파일에 기록한 뒤 원자적으로 교체합니다. 기존 파일을 매핑한 저장소에는 영향을 주지 않습니다.
+     */
+    static void write(Path file, Contents contents, int recordSize, int chunkBytes) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeLong(contents.createdAt());
+            out.writeInt(recordSize);
+            out.writeInt(chunkBytes);
+            out.writeInt(contents.positions().size());
+            for (PartitionPosition position : contents.positions()) {
+                out.writeUTF(position.fullyQualifiedNamespace());
+                out.writeUTF(position.eventHubName());
+                out.writeUTF(position.consumerGroup());
+                out.writeUTF(position.partitionId());
+                out.writeLong(position.sequenceNumber());
+                out.writeLong(position.offset());
+            }
+            out.writeInt(contents.planTable().length);
+            for (String planName : contents.planTable()) {
+                out.writeUTF(planName);
+            }
+            out.writeInt(contents.userIds().length);
+            for (String userId : contents.userIds()) {
+                out.writeUTF(userId);
+            }
+        }
+        byte[] header = bytes.toByteArray();
+        long recordsOffset = align(16L + header.length);
+
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer prefix = ByteBuffer.allocate(16).putInt(MAGIC).putInt(VERSION).putLong(recordsOffset);
+            prefix.flip();
+            writeFully(channel, prefix, 0);
+            writeFully(channel, ByteBuffer.wrap(header), 16);
+
+            int chunkCount = chunkCount(contents.userIds().length, recordSize, chunkBytes);
+            for (int i = 0; i < chunkCount; i++) {
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE,
+                        recordsOffset + (long) i * chunkBytes, chunkBytes);
+                ByteBuffer chunk = contents.chunks()[i].duplicate();
+                chunk.clear();
+                mapped.put(chunk);
+                mapped.force();
+            }
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    static Contents read(Path file, int recordSize, int chunkBytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer prefix = ByteBuffer.allocate(16);
+            readFully(channel, prefix, 0);
+            prefix.flip();
+            if (prefix.getInt() != MAGIC || prefix.getInt() != VERSION) {
+                throw new IOException("지원되지 않는 스냅샷 형식입니다: " + file);
+            }
+            long recordsOffset = prefix.getLong();
+
+            ByteBuffer header = ByteBuffer.allocate((int) (recordsOffset - 16));
+            readFully(channel, header, 16);
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(header.array()));
+            long createdAt = in.readLong();
+            if (in.readInt() != recordSize || in.readInt() != chunkBytes) {
+                throw new IOException("스냅샷의 레코드 배치가 현재 저장소와 다릅니다: " + file);
+            }
+            int positionCount = in.readInt();
+            List<PartitionPosition> positions = new ArrayList<>(positionCount);
+            for (int i = 0; i < positionCount; i++) {
+                positions.add(new PartitionPosition(in.readUTF(), in.readUTF(), in.readUTF(), in.readUTF(),
+                        in.readLong(), in.readLong()));
+            }
+            String[] planTable = new String[in.readInt()];
+            for (int i = 0; i < planTable.length; i++) {
+                planTable[i] = in.readUTF();
+            }
+            String[] userIds = new String[in.readInt()];
+            for (int i = 0; i < userIds.length; i++) {
+                userIds[i] = in.readUTF();
+            }
+
+            ByteBuffer[] chunks = new ByteBuffer[chunkCount(userIds.length, recordSize, chunkBytes)];
+            for (int i = 0; i < chunks.length; i++) {
+                chunks[i] = channel.map(FileChannel.MapMode.PRIVATE, recordsOffset + (long) i * chunkBytes, chunkBytes);
+            }
+            return new Contents(createdAt, positions, planTable, userIds, chunks);
+        }
+    }
+
+    private static int chunkCount(int records, int recordSize, int chunkBytes) {
+        int recordsPerChunk = chunkBytes / recordSize;
+        return (records + recordsPerChunk - 1) / recordsPerChunk;
+    }
+
+    private static long align(long position) {
+        return (position + PAGE_SIZE - 1) / PAGE_SIZE * PAGE_SIZE;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("스냅샷 파일이 잘려 있습니다");
+            }
+            position += read;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.telecom.cqrs.query.service;
+
+import com.azure.messaging.eventhubs.CheckpointStore;
+import com.azure.messaging.eventhubs.EventData;
+import com.azure.messaging.eventhubs.models.Checkpoint;
+import com.azure.messaging.eventhubs.models.PartitionContext;
+import com.telecom.cqrs.query.config.EventHubProperties;
+import com.telecom.cqrs.query.config.QueryProperties;
+import com.telecom.cqrs.query.event.SnapshotCheckpointStore;
+import com.telecom.cqrs.query.metrics.ProjectionStoreMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * 메모리 조회 저장소의 스냅샷을 주기적으로 기록하고, 시작할 때 스냅샷 위치부터 이벤트 소비를 재개하게 합니다.
+ *
+ * <p>이벤트 핸들러는 반영을 마친 위치를 {@link #markApplied}로 알립니다. 스냅샷에는 상태를 복사하기 직전까지 알려진 위치를 함께 기록하므로,
+ * 스냅샷의 상태는 항상 기록된 위치까지의 이벤트를 포함합니다. 두 허브의 위치가 모두 있을 때만 스냅샷을 기록합니다.</p>
+ *
+ * <p>스냅샷에서 복원하면 저장된 체크포인트보다 앞선 스냅샷 위치부터 다시 소비합니다. 그 사이의 이벤트는 MongoDB에 이미 반영되어 있으므로
+ * 이벤트 핸들러는 {@link #isReplay}로 이 구간을 구분해 조회 모델에 다시 쓰지 않고 {@link #replay}로 메모리 저장소만 맞춥니다.
+ * 증가분을 다시 더하거나 이전 값으로 되돌리지 않도록 하기 위해서입니다.</p>
+ */
+@Slf4j
+@Service
+public class ProjectionSnapshotService {
+    private final PhonePlanProjectionStore store;
+    private final ProjectionStoreMetrics metrics;
+    private final Path snapshotFile;
+    private final Set<String> hubNames;
+    private final Map<String, PartitionPosition> applied = new ConcurrentHashMap<>();
+    // 스냅샷 복원 후 MongoDB에 다시 쓰지 않을 파티션별 마지막 시퀀스 번호(저장된 체크포인트)
+    private final Map<String, Long> replayUntil = new ConcurrentHashMap<>();
+
+    public ProjectionSnapshotService(
+            PhonePlanProjectionStore store,
+            ProjectionStoreMetrics metrics,
+            QueryProperties queryProperties,
+            EventHubProperties eventHubProperties) {
+        this.store = store;
+        this.metrics = metrics;
+        String path = queryProperties.getSnapshotPath();
+        this.snapshotFile = store.isEnabled() && path != null && !path.isBlank() ? Path.of(path) : null;
+        this.hubNames = Set.of(eventHubProperties.getPlanHubName(), eventHubProperties.getUsageHubName());
+        for (PartitionPosition position : store.getRestoredPositions()) {
+            applied.put(position.key(), position);
+        }
+    }
+
+    public boolean isEnabled() {
+        return snapshotFile != null;
+    }
+
+    /**
+     * 파티션에서 마지막 이벤트까지 반영을 마쳤음을 기록합니다. 메모리 저장소에 반영된 뒤에 호출해야 합니다.
+     */
+    public void markApplied(PartitionContext partitionContext, EventData last) {
+        if (!isEnabled()) {
+            return;
+        }
+        PartitionPosition position = PartitionPosition.of(partitionContext, last);
+        applied.merge(position.key(), position,
+                (previous, latest) -> latest.sequenceNumber() >= previous.sequenceNumber() ? latest : previous);
+    }
+
+    /**
+     * 스냅샷 복원 후 재처리 구간의 메시지인지 확인합니다. 이 구간의 이벤트는 MongoDB에 이미 반영되어 있습니다.
+     */
+    public boolean isReplay(PartitionContext partitionContext, EventData eventData) {
+        if (replayUntil.isEmpty()) {
+            return false;
+        }
+        Long until = replayUntil.get(PartitionPosition.of(partitionContext, eventData).key());
+        return until != null && eventData.getSequenceNumber() <= until;
+    }
+
+    /**
+     * 재처리 구간의 메시지를 조회 모델에 다시 쓰지 않고, 관련 사용자의 메모리 저장소 레코드만 MongoDB에서 다시 읽습니다.
+     * 체크포인트는 기록하지 않습니다. 저장된 체크포인트가 이미 이 구간 뒤에 있습니다.
+     *
+     * @param last 재처리 구간에서 처리한 마지막 메시지
+     * @param userIds 처리한 메시지에 담긴 사용자 ID
+     */
+    public void replay(PartitionContext partitionContext, EventData last, Collection<String> userIds) {
+        store.refresh(userIds);
+        markApplied(partitionContext, last);
+        String key = PartitionPosition.of(partitionContext, last).key();
+        Long until = replayUntil.get(key);
+        if (until != null && last.getSequenceNumber() >= until) {
+            replayUntil.remove(key);
+            log.info("Snapshot replay finished: partition={}, sequenceNumber={}", key, until);
+        }
+    }
+
+    /**
+     * 스냅샷에서 복원했다면 스냅샷 위치부터 소비하도록 체크포인트 저장소를 감싸서 반환합니다.
+     * 저장된 체크포인트 중 스냅샷에 없는 파티션이 있으면 그 파티션의 변경을 놓칠 수 있으므로 MongoDB에서 다시 적재합니다.
+     * 스냅샷 위치보다 앞선 체크포인트는 재처리 구간의 끝으로 기록합니다.
+     */
+    public CheckpointStore resumeFrom(CheckpointStore checkpointStore) {
+        List<PartitionPosition> restored = store.getRestoredPositions();
+        if (restored.isEmpty()) {
+            return checkpointStore;
+        }
+        Map<String, PartitionPosition> covered = restored.stream()
+                .collect(Collectors.toMap(PartitionPosition::key, position -> position));
+        Map<String, PartitionPosition> groups = restored.stream().collect(Collectors.toMap(
+                position -> position.fullyQualifiedNamespace() + "/" + position.eventHubName() + "/" + position.consumerGroup(),
+                position -> position, (first, second) -> first));
+        for (PartitionPosition group : groups.values()) {
+            List<Checkpoint> stored = checkpointStore.listCheckpoints(group.fullyQualifiedNamespace(),
+                    group.eventHubName(), group.consumerGroup()).collectList().block();
+            for (Checkpoint checkpoint : stored) {
+                String key = PartitionPosition.key(checkpoint.getFullyQualifiedNamespace(), checkpoint.getEventHubName(),
+                        checkpoint.getConsumerGroup(), checkpoint.getPartitionId());
+                // 시퀀스 번호가 없는 체크포인트는 재처리 구간을 알 수 없으므로 스냅샷을 쓰지 않습니다.
+                if (!covered.containsKey(key) || checkpoint.getSequenceNumber() == null) {
+                    log.warn("Snapshot does not cover partition {}, reloading projection from MongoDB", key);
+                    store.reloadFromMongo();
+                    applied.clear();
+                    replayUntil.clear();
+                    return checkpointStore;
+                }
+                if (checkpoint.getSequenceNumber() > covered.get(key).sequenceNumber()) {
+                    replayUntil.put(key, checkpoint.getSequenceNumber());
+                }
+            }
+        }
+        return new SnapshotCheckpointStore(checkpointStore, restored);
+    }
+
+    @Scheduled(fixedDelayString = "${query.snapshot-interval:300000}")
+    public void writeSnapshot() {
+        if (!isEnabled()) {
+            return;
+        }
+        // 상태를 복사하기 전에 위치를 모아야 스냅샷이 위치까지의 이벤트를 모두 담습니다.
+        List<PartitionPosition> positions = new ArrayList<>(applied.values());
+        Set<String> hubs = positions.stream().map(PartitionPosition::eventHubName).collect(Collectors.toSet());
+        if (!hubs.containsAll(hubNames)) {
+            log.debug("Skipping projection snapshot until both hubs have applied events: hubs={}", hubs);
+            return;
+        }
+        long start = System.currentTimeMillis();
+        try {
+            store.writeSnapshot(snapshotFile, positions);
+            long elapsed = System.currentTimeMillis() - start;
+            metrics.recordSnapshot(elapsed);
+            log.info("Projection snapshot written in {} ms: file={}, partitions={}", elapsed, snapshotFile, positions.size());
+        } catch (Exception e) {
+            metrics.incrementSnapshotErrors();
+            log.warn("Failed to write projection snapshot: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writeSnapshot();
+    }
+}
@@ -0,0 +1,173 @@
+package com.telecom.cqrs.query.service;
+
+import com.telecom.cqrs.query.config.QueryProperties;
+import com.telecom.cqrs.query.domain.PhonePlanView;
+import com.telecom.cqrs.query.dto.PhonePlanBatchQueryResponse;
+import com.telecom.cqrs.query.dto.PhonePlanQueryResponse;
+import com.telecom.cqrs.query.exception.QueryTimeoutException;
+import com.telecom.cqrs.query.mapper.PhonePlanMapper;
+import com.telecom.cqrs.query.metrics.RequestCoalescingMetrics;
+import com.telecom.cqrs.query.repository.ReactivePhonePlanViewRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 리액티브 조회 모드({@code spring.main.web-application-type=reactive})의 요금제 조회 서비스입니다.
+ *
+ * <p>{@link PhonePlanQueryService}와 같은 순서로 오프힙 저장소, 캐시, MongoDB를 조회하지만
+ * MongoDB 조회 동안 스레드를 점유하지 않습니다. 캐시에 없는 같은 사용자의 동시 조회는 하나의 조회 결과를 함께 받습니다.</p>
+ */
+@Slf4j
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactivePhonePlanQueryService {
+    private final ReactivePhonePlanViewRepository phonePlanViewRepository;
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final PhonePlanMapper phonePlanMapper;
+    private final PhonePlanViewCache phonePlanViewCache;
+    private final PhonePlanProjectionStore projectionStore;
+    private final PhonePlanQueryService phonePlanQueryService;
+    private final RequestCoalescingMetrics coalescingMetrics;
+    private final Map<String, Mono<PhonePlanQueryResponse>> inFlight = new ConcurrentHashMap<>();
+    private final Duration coalescingTimeout;
+    private final int exportBatchSize;
+
+    public ReactivePhonePlanQueryService(
+            ReactivePhonePlanViewRepository phonePlanViewRepository,
+            ReactiveMongoTemplate reactiveMongoTemplate,
+            PhonePlanMapper phonePlanMapper,
+            PhonePlanViewCache phonePlanViewCache,
+            PhonePlanProjectionStore projectionStore,
+            PhonePlanQueryService phonePlanQueryService,
+            RequestCoalescingMetrics coalescingMetrics,
+            QueryProperties queryProperties) {
+        this.phonePlanViewRepository = phonePlanViewRepository;
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+        this.phonePlanMapper = phonePlanMapper;
+        this.phonePlanViewCache = phonePlanViewCache;
+        this.projectionStore = projectionStore;
+        this.phonePlanQueryService = phonePlanQueryService;
+        this.coalescingMetrics = coalescingMetrics;
+        this.coalescingTimeout = Duration.ofMillis(queryProperties.getCoalescingTimeout());
+        this.exportBatchSize = queryProperties.getExportBatchSize();
+    }
+
+    /**
+     * 사용자의 요금제 정보를 조회합니다.
+     * @param userId 조회할 사용자 ID
+     * @return 요금제 정보. 없으면 비어 있음
+     */
+    public Mono<PhonePlanQueryResponse> getPhonePlan(String userId) {
+        if (projectionStore.isEnabled()) {
+            return Mono.justOrEmpty(projectionStore.get(userId));
+        }
+        PhonePlanQueryResponse cached = phonePlanViewCache.getIfPresent(userId);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+
+        Mono<PhonePlanQueryResponse> existing = inFlight.get(userId);
+        if (existing != null) {
+            return awaitInFlight(userId, existing);
+        }
+
+        long stamp = phonePlanViewCache.loadStamp(userId);
+        AtomicReference<Mono<PhonePlanQueryResponse>> load = new AtomicReference<>();
+        load.set(phonePlanViewRepository.findByUserId(userId)
+                .map(phonePlanMapper::toDto)
+                .doOnNext(response -> phonePlanViewCache.putLoaded(userId, response, stamp))
+                .doFinally(signal -> inFlight.remove(userId, load.get()))
+                .cache());
+        existing = inFlight.putIfAbsent(userId, load.get());
+        if (existing != null) {
+            return awaitInFlight(userId, existing);
+        }
+        coalescingMetrics.incrementLoads();
+        log.debug("Querying phone plan for user: {}", userId);
+        return load.get();
+    }
+
+    private Mono<PhonePlanQueryResponse> awaitInFlight(String userId, Mono<PhonePlanQueryResponse> load) {
+        coalescingMetrics.incrementCoalescedRequests();
+        return load.timeout(coalescingTimeout)
+                .onErrorMap(TimeoutException.class, e -> {
+                    coalescingMetrics.incrementTimeouts();
+                    return new QueryTimeoutException("조회 대기 시간이 초과되었습니다: " + userId);
+                });
+    }
+
+    /**
+     * 여러 사용자의 요금제 정보를 조회합니다. 요청 크기는 {@code query.batch-max-size}로 제한되므로 결과를 모아 한 번에 반환합니다.
+     * @param userIds 조회할 사용자 ID 목록
+     * @return 요금제 정보 목록과 조회 모델이 없는 사용자 ID
+     */
+    public Mono<PhonePlanBatchQueryResponse> findPhonePlans(List<String> userIds) {
+        phonePlanQueryService.validateBatch(userIds);
+
+        Set<String> missing = new LinkedHashSet<>();
+        for (String userId : userIds) {
+            if (userId != null) {
+                missing.add(userId);
+            }
+        }
+
+        List<PhonePlanQueryResponse> plans = new ArrayList<>();
+        for (String userId : new ArrayList<>(missing)) {
+            PhonePlanQueryResponse response = projectionStore.isEnabled()
+                    ? projectionStore.get(userId)
+                    : phonePlanViewCache.getIfPresent(userId);
+            if (response != null) {
+                plans.add(response);
+                missing.remove(userId);
+            }
+        }
+
+        if (missing.isEmpty() || projectionStore.isEnabled()) {
+            return Mono.just(PhonePlanBatchQueryResponse.builder()
+                    .plans(plans)
+                    .missingUserIds(new ArrayList<>(missing))
+                    .build());
+        }
+        return phonePlanViewRepository.findByUserIdIn(new ArrayList<>(missing))
+                .map(phonePlanMapper::toDto)
+                .collectList()
+                .map(found -> {
+                    for (PhonePlanQueryResponse response : found) {
+                        plans.add(response);
+                        missing.remove(response.getUserId());
+                    }
+                    return PhonePlanBatchQueryResponse.builder()
+                            .plans(plans)
+                            .missingUserIds(new ArrayList<>(missing))
+                            .build();
+                });
+    }
+
+    /**
+     * 조회 모델을 userId 순서로 발행합니다. 조건과 이어받기 방식은 {@link PhonePlanExportService}와 같으며,
+     * 구독자가 요청한 만큼만 커서에서 읽습니다.
+     */
+    public Flux<Document> export(String planName, String status, String after, long limit) {
+        return reactiveMongoTemplate.getCollection(reactiveMongoTemplate.getCollectionName(PhonePlanView.class))
+                .flatMapMany(collection -> collection.find(PhonePlanExportService.filter(planName, status, after))
+                        .projection(PhonePlanExportService.projection())
+                        .sort(PhonePlanExportService.sort())
+                        .batchSize(exportBatchSize)
+                        .limit(limit > 0 ? (int) Math.min(limit, Integer.MAX_VALUE) : 0));
+    }
+}
@@ -0,0 +1,68 @@
+package com.telecom.cqrs.query.service;
+
+import com.telecom.cqrs.query.exception.QueryTimeoutException;
+import com.telecom.cqrs.query.metrics.RequestCoalescingMetrics;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * 같은 키에 대한 동시 조회를 하나로 합칩니다(single-flight).
+ *
+ * <p>처음 도착한 요청만 조회를 수행하고, 조회가 끝나기 전에 도착한 요청은 그 결과를 함께 받습니다.
+ * 조회가 끝나면 바로 목록에서 제거되므로 이후 요청은 새로 조회하며, 이전 결과를 재사용하지 않습니다.
+ * 기다리는 요청은 제한 시간이 지나면 {@link QueryTimeoutException}으로 끝납니다.</p>
+ */
+public class RequestCoalescer<K, V> {
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final RequestCoalescingMetrics metrics;
+    private final long timeoutMillis;
+
+    public RequestCoalescer(RequestCoalescingMetrics metrics, long timeoutMillis) {
+        this.metrics = metrics;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public V execute(K key, Function<K, V> loader) {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            metrics.incrementCoalescedRequests();
+            return await(key, existing);
+        }
+
+        metrics.incrementLoads();
+        try {
+            V value = loader.apply(key);
+            future.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    private V await(K key, CompletableFuture<V> future) {
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            metrics.incrementTimeouts();
+            throw new QueryTimeoutException("조회 대기 시간이 초과되었습니다: " + key);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new QueryTimeoutException("조회 대기 중 중단되었습니다: " + key);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
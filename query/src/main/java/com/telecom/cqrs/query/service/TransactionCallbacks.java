@@ -0,0 +1,28 @@
+package com.telecom.cqrs.query.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 조회 모델 반영에 맞춰 메모리 상태를 갱신할 때 트랜잭션 커밋 시점을 맞춥니다.
+ */
+final class TransactionCallbacks {
+
+    private TransactionCallbacks() {}
+
+    /**
+     * 트랜잭션 안이면 커밋된 뒤에, 아니면 바로 실행합니다. 롤백된 변경은 메모리 상태에 남지 않습니다.
+     */
+    static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.telecom.cqrs.query.event;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PartitionWatermarkTest {
+    private final List<String> checkpoints = new ArrayList<>();
+    private final List<Integer> counts = new ArrayList<>();
+    private final PartitionWatermark watermark = new PartitionWatermark((events, checkpoint) -> {
+        counts.add(events);
+        checkpoint.run();
+    });
+
+    @Test
+    void inOrderCompletionRecordsEachDelivery() {
+        PartitionWatermark.Delivery first = begin(10, 2);
+        PartitionWatermark.Delivery second = begin(20, 3);
+
+        watermark.complete(first);
+        watermark.complete(second);
+
+        assertEquals(List.of("10", "20"), checkpoints);
+        assertEquals(List.of(2, 3), counts);
+    }
+
+    @Test
+    void outOfOrderCompletionWaitsForEarlierDelivery() {
+        PartitionWatermark.Delivery first = begin(10, 1);
+        PartitionWatermark.Delivery second = begin(20, 2);
+        PartitionWatermark.Delivery third = begin(30, 4);
+
+        watermark.complete(third);
+        watermark.complete(second);
+        assertEquals(List.of(), checkpoints);
+
+        watermark.complete(first);
+        assertEquals(List.of("30"), checkpoints);
+        assertEquals(List.of(7), counts);
+    }
+
+    @Test
+    void completionStopsAtFirstPendingDelivery() {
+        PartitionWatermark.Delivery first = begin(10, 1);
+        PartitionWatermark.Delivery second = begin(20, 1);
+        PartitionWatermark.Delivery third = begin(30, 1);
+
+        watermark.complete(third);
+        watermark.complete(first);
+        assertEquals(List.of("10"), checkpoints);
+
+        watermark.complete(second);
+        assertEquals(List.of("10", "30"), checkpoints);
+        assertEquals(List.of(1, 2), counts);
+    }
+
+    @Test
+    void closeStopsLaterRecords() {
+        PartitionWatermark.Delivery first = begin(10, 1);
+        PartitionWatermark.Delivery second = begin(20, 1);
+        watermark.complete(first);
+
+        watermark.close();
+        watermark.complete(second);
+        watermark.complete(begin(30, 1));
+
+        assertEquals(List.of("10"), checkpoints);
+    }
+
+    @Test
+    void failStopsLaterRecordsAndKeepsFirstError() {
+        PartitionWatermark.Delivery first = begin(10, 1);
+        PartitionWatermark.Delivery second = begin(20, 1);
+        IllegalStateException error = new IllegalStateException("park failed");
+        assertNull(watermark.failure());
+
+        watermark.fail(error);
+        watermark.fail(new IllegalStateException("later"));
+        watermark.complete(second);
+        watermark.complete(first);
+
+        assertEquals(List.of(), checkpoints);
+        assertSame(error, watermark.failure());
+    }
+
+    @Test
+    void finishTaskReportsLastTask() {
+        PartitionWatermark.Delivery delivery = new PartitionWatermark.Delivery(10, 3, () -> { });
+
+        assertFalse(delivery.finishTask());
+        assertFalse(delivery.finishTask());
+        assertTrue(delivery.finishTask());
+    }
+
+    private PartitionWatermark.Delivery begin(long sequenceNumber, int events) {
+        PartitionWatermark.Delivery delivery = new PartitionWatermark.Delivery(
+                sequenceNumber, events, () -> checkpoints.add(String.valueOf(sequenceNumber)));
+        watermark.begin(delivery);
+        return delivery;
+    }
+}
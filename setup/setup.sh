@@ -139,14 +139,14 @@ build_application() {
 
    # Dockerfile 생성 - Command 서비스
    cat > Dockerfile-command << EOF
-FROM --platform=linux/amd64 eclipse-temurin:17-jdk-alpine
+FROM --platform=linux/amd64 eclipse-temurin:21-jdk-alpine
 COPY command/build/libs/cqrs-command.jar app.jar
 ENTRYPOINT ["java","-jar","/app.jar"]
 EOF
 
    # Dockerfile 생성 - Query 서비스
    cat > Dockerfile-query << EOF
-FROM --platform=linux/amd64 eclipse-temurin:17-jdk-alpine
+FROM --platform=linux/amd64 eclipse-temurin:21-jdk-alpine
 COPY query/build/libs/cqrs-query.jar app.jar
 ENTRYPOINT ["java","-jar","/app.jar"]
 EOF